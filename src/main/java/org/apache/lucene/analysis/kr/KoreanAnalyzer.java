@@ -22,6 +22,7 @@ import org.apache.lucene.analysis.*;
 import org.apache.lucene.analysis.Analyzer.TokenStreamComponents;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.StopFilter;
+import org.apache.lucene.analysis.kr.morph.AnalysisCache;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.analysis.standard.StandardFilter;
 import org.apache.lucene.analysis.standard.StandardTokenizer;
@@ -40,6 +41,7 @@ import java.io.Reader;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Filters {@link StandardTokenizer} with {@link StandardFilter}, {@link
@@ -69,6 +71,26 @@ public class KoreanAnalyzer extends StopwordAnalyzerBase {
 	  private boolean exactMatch = false;
 	  
 	  private boolean originCNoun = true;
+	  
+	  private boolean cacheEnabled = true;
+	  
+	  private String engine = KoreanEngine.RULE;
+	  
+	  private boolean dynamicCompound = false;
+	  
+	  private Executor readAheadExecutor;
+	  
+	  private int readAheadWindow;
+	  
+	  private long analysisBudget;
+	  
+	  private boolean fastScanner = false;
+	  
+	  private int bufferSize = KoreanTokenizer.DEFAULT_BUFFER_SIZE;
+	  
+	  private int maxBufferSize = KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE;
+	  
+	  private boolean singlePass = false;
   
 	  public static final String DIC_ENCODING = "UTF-8";
 
@@ -147,10 +169,15 @@ public class KoreanAnalyzer extends StopwordAnalyzerBase {
 	
    @Override
    protected TokenStreamComponents createComponents(final String fieldName, final Reader reader) {
-     final KoreanTokenizer src = new KoreanTokenizer(matchVersion, reader);
+     if (singlePass) return createSinglePassComponents(reader);
+     final KoreanTokenizer src = new KoreanTokenizer(matchVersion, reader, fastScanner);
      src.setMaxTokenLength(maxTokenLength);
-     TokenStream tok = new KoreanFilter(src, bigrammable, hasOrigin, exactMatch, originCNoun);
-     tok = new LowerCaseFilter(matchVersion, tok);
+     if (bufferSize != KoreanTokenizer.DEFAULT_BUFFER_SIZE || maxBufferSize != KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE)
+       src.setBufferSize(bufferSize, maxBufferSize);
+     KoreanFilter filter = new KoreanFilter(src, KoreanEngine.getInstance(engine, cacheEnabled, dynamicCompound), bigrammable, hasOrigin, exactMatch, originCNoun);
+     filter.setReadAhead(readAheadExecutor, readAheadWindow);
+     filter.setAnalysisBudget(analysisBudget);
+     TokenStream tok = new LowerCaseFilter(matchVersion, filter);
      tok = new StopFilter(matchVersion, tok, stopwords);
      return new TokenStreamComponents(src, tok) {
        @Override
@@ -161,6 +188,40 @@ public class KoreanAnalyzer extends StopwordAnalyzerBase {
      };
    }
 	  
+   private TokenStreamComponents createSinglePassComponents(final Reader reader) {
+     final KoreanMorphTokenizer src = new KoreanMorphTokenizer(matchVersion, reader, KoreanEngine.getInstance(engine, cacheEnabled, dynamicCompound), 
+    		 bigrammable, hasOrigin, exactMatch, originCNoun, fastScanner);
+     src.setMaxTokenLength(maxTokenLength);
+     if (bufferSize != KoreanTokenizer.DEFAULT_BUFFER_SIZE || maxBufferSize != KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE)
+       src.setBufferSize(bufferSize, maxBufferSize);
+     src.setAnalysisBudget(analysisBudget);
+     TokenStream tok = new LowerCaseFilter(matchVersion, src);
+     tok = new StopFilter(matchVersion, tok, stopwords);
+     return new TokenStreamComponents(src, tok) {
+       @Override
+       protected void setReader(final Reader reader) throws IOException {
+         src.setMaxTokenLength(KoreanAnalyzer.this.maxTokenLength);
+         super.setReader(reader);
+       }
+     };
+   }
+	  
+	/**
+	 * set the maximum allowed token length. A longer token is skipped.
+	 * It takes effect the next time the tokenizer is reset.
+	 * @param length
+	 */
+	public void setMaxTokenLength(int length) {
+		maxTokenLength = length;
+	}
+	
+	/**
+	 * @see #setMaxTokenLength
+	 */
+	public int getMaxTokenLength() {
+		return maxTokenLength;
+	}
+	  
 	/**
 	 * determine whether the bigram index term is returned or not if a input word is failed to analysis
 	 * If true is set, the bigram index term is returned. If false is set, the bigram index term is not returned.
@@ -194,4 +255,94 @@ public class KoreanAnalyzer extends StopwordAnalyzerBase {
 		exactMatch = exact;
 	}
 	
+	/**
+	 * determine whether the results of the morphological analysis are cached or not.
+	 * The cache is shared by all the analyzers of the JVM. It is enabled by default.
+	 * @param enabled
+	 */
+	public void setCacheEnabled(boolean enabled) {
+		cacheEnabled = enabled;
+	}
+	
+	/**
+	 * set the maximum number of words kept in each of the shared analysis caches, see {@link AnalysisCache#setSharedMaxSize(int)}.
+	 * The caches are shared by the whole JVM, so this changes them for every other analyzer too.
+	 * @param size
+	 */
+	public void setCacheSize(int size) {
+		AnalysisCache.setSharedMaxSize(size);
+	}
+	
+	/**
+	 * select the morphological analysis engine, {@link KoreanEngine#RULE} (the default)
+	 * or {@link KoreanEngine#LATTICE}.
+	 * @param type
+	 */
+	public void setEngine(String type) {
+		engine = type;
+	}
+	
+	/**
+	 * determine whether compound nouns of 7 or more characters are decomposed by dynamic programming
+	 * over the dictionary words they contain, instead of the fixed split patterns. It is disabled by default.
+	 * @param dynamic
+	 * @see KoreanEngine#getInstance(String, boolean, boolean)
+	 */
+	public void setDynamicCompound(boolean dynamic) {
+		dynamicCompound = dynamic;
+	}
+	
+	/**
+	 * read ahead up to window tokens and analyze the korean words of them in parallel with the executor.
+	 * It helps with very large fields. It is disabled by default.
+	 * @param executor	null disables it
+	 * @param window
+	 * @see KoreanFilter#setReadAhead(Executor, int)
+	 */
+	public void setReadAhead(Executor executor, int window) {
+		readAheadExecutor = executor;
+		readAheadWindow = window;
+	}
+	
+	/**
+	 * limit the time spent on the morphological analysis of a single word. A word that takes
+	 * longer is indexed as itself and its bigrams. It is not limited by default.
+	 * @param nanos	0 or less means no limit
+	 * @see KoreanFilter#setAnalysisBudget(long)
+	 */
+	public void setAnalysisBudget(long nanos) {
+		analysisBudget = nanos;
+	}
+	
+	/**
+	 * scan hangul, hanja and ascii words with a hand written scanner instead of the JFlex one.
+	 * The tokens are the same. It is disabled by default.
+	 * @param fast
+	 * @see KoreanTokenizer#KoreanTokenizer(Version, Reader, boolean)
+	 */
+	public void setFastScanner(boolean fast) {
+		fastScanner = fast;
+	}
+	
+	/**
+	 * set the size of the tokenizer buffer and the largest buffer a tokenizer keeps between fields.
+	 * @param initialSize
+	 * @param maxSize
+	 * @see KoreanTokenizer#setBufferSize(int, int)
+	 */
+	public void setBufferSize(int initialSize, int maxSize) {
+		bufferSize = initialSize;
+		maxBufferSize = maxSize;
+	}
+	
+	/**
+	 * tokenize and analyze in one pass with a {@link KoreanMorphTokenizer} instead of a
+	 * KoreanTokenizer followed by a KoreanFilter. The index terms are the same, but read ahead
+	 * is not supported. It is disabled by default.
+	 * @param single
+	 */
+	public void setSinglePass(boolean single) {
+		singlePass = single;
+	}
+	
 }
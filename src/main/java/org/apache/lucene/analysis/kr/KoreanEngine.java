@@ -0,0 +1,147 @@
+package org.apache.lucene.analysis.kr;
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.lucene.analysis.kr.morph.AnalysisCache;
+import org.apache.lucene.analysis.kr.morph.CompoundNounAnalyzer;
+import org.apache.lucene.analysis.kr.morph.LatticeMorphAnalyzer;
+import org.apache.lucene.analysis.kr.morph.MorphAnalyzer;
+import org.apache.lucene.analysis.kr.morph.WordSpaceAnalyzer;
+
+/**
+ * The analyzers a {@link KoreanFilter} works with.
+ * <p>
+ *
+ * They are configured once and keep no state between calls, so one engine
+ * is shared by all the filters of an analyzer, whatever thread they run
+ * in. What changes while a term is analyzed lives in the filter.
+ */
+public class KoreanEngine {
+
+	/** 규칙기반 분석, 기본값이다. {@link MorphAnalyzer} */
+	public static final String RULE = "rule";
+
+	/** 격자기반 분석. {@link LatticeMorphAnalyzer} */
+	public static final String LATTICE = "lattice";
+
+	/** getInstance 가 만든 엔진, 유형과 설정으로 찾는다. */
+	private static final Map<String, KoreanEngine> instances = new HashMap<String, KoreanEngine>();
+
+	private final AnalysisCache cache;
+
+	private final CompoundNounAnalyzer cnAnalyzer;
+
+	private final MorphAnalyzer morph;
+
+	private final WordSpaceAnalyzer wsAnal;
+
+	/**
+	 * @param cache	null 이면 분석결과를 캐시하지 않는다.
+	 */
+	public KoreanEngine(AnalysisCache cache) {
+		this(RULE, cache);
+	}
+
+	/**
+	 * @param type	{@link #RULE} 또는 {@link #LATTICE}
+	 * @param cache	null 이면 분석결과를 캐시하지 않는다.
+	 */
+	public KoreanEngine(String type, AnalysisCache cache) {
+		this(type, cache, false);
+	}
+
+	/**
+	 * @param type	{@link #RULE} 또는 {@link #LATTICE}
+	 * @param cache	null 이면 분석결과를 캐시하지 않는다.
+	 * @param dynamicCompound	긴 복합명사를 동적계획법으로 분해할지 여부,
+	 * 		{@link CompoundNounAnalyzer#CompoundNounAnalyzer(boolean, boolean)} 참조
+	 */
+	public KoreanEngine(String type, AnalysisCache cache, boolean dynamicCompound) {
+		this.cache = cache;
+		cnAnalyzer = new CompoundNounAnalyzer(false, dynamicCompound);
+		if (RULE.equals(type))
+			morph = new MorphAnalyzer(cnAnalyzer, cache);
+		else if (LATTICE.equals(type))
+			morph = new LatticeMorphAnalyzer(cnAnalyzer, cache);
+		else
+			throw new IllegalArgumentException("unknown analysis engine: " + type);
+		wsAnal = new WordSpaceAnalyzer(morph);
+	}
+
+	/**
+	 * Returns the engine shared by the JVM, using {@link AnalysisCache#getInstance()}
+	 * if cacheEnabled is true.
+	 */
+	public static synchronized KoreanEngine getInstance(boolean cacheEnabled) {
+		return getInstance(RULE, cacheEnabled);
+	}
+
+	/**
+	 * Returns the engine of the given type shared by the JVM.
+	 *
+	 * @param type	{@link #RULE} or {@link #LATTICE}
+	 */
+	public static synchronized KoreanEngine getInstance(String type, boolean cacheEnabled) {
+		return getInstance(type, cacheEnabled, false);
+	}
+
+	/**
+	 * Returns the engine of the given type and compound noun decomposition
+	 * shared by the JVM. Only the default rule engine uses
+	 * {@link AnalysisCache#getInstance()}, the others give other analyses
+	 * of the same word and use the shared cache named after them, such as
+	 * "lattice" or "rule-dynamic".
+	 *
+	 * @param type	{@link #RULE} or {@link #LATTICE}
+	 * @param dynamicCompound	see {@link #KoreanEngine(String, AnalysisCache, boolean)}
+	 */
+	public static synchronized KoreanEngine getInstance(String type, boolean cacheEnabled, boolean dynamicCompound) {
+		if (!RULE.equals(type) && !LATTICE.equals(type))
+			throw new IllegalArgumentException("unknown analysis engine: " + type);
+		String key = type + (cacheEnabled ? "/cached" : "") + (dynamicCompound ? "/dynamic" : "");
+		KoreanEngine engine = instances.get(key);
+		if (engine == null) {
+			AnalysisCache cache = null;
+			if (cacheEnabled)
+				cache = RULE.equals(type) && !dynamicCompound ? AnalysisCache.getInstance()
+						: AnalysisCache.getInstance(dynamicCompound ? type + "-dynamic" : type);
+			engine = new KoreanEngine(type, cache, dynamicCompound);
+			instances.put(key, engine);
+		}
+		return engine;
+	}
+
+	public AnalysisCache getCache() {
+		return cache;
+	}
+
+	public CompoundNounAnalyzer getCompoundNounAnalyzer() {
+		return cnAnalyzer;
+	}
+
+	public MorphAnalyzer getMorphAnalyzer() {
+		return morph;
+	}
+
+	public WordSpaceAnalyzer getWordSpaceAnalyzer() {
+		return wsAnal;
+	}
+}
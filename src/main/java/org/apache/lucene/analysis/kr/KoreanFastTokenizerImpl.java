@@ -0,0 +1,332 @@
+package org.apache.lucene.analysis.kr;
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
+
+/**
+ * A hand written scanner for mostly Hangul text that gives the same tokens
+ * as {@link KoreanTokenizerImpl}.
+ * <p>
+ *
+ * The input is cut into segments at the characters no rule of the JFlex
+ * grammar can match, such as spaces, so no token crosses a segment. A
+ * segment made only of Hangul syllables, Hanja and ASCII letters and
+ * digits is split into KOREAN, CHINESE and ALPHANUM runs right here, with
+ * one table lookup per character. Any other segment, for example one with
+ * punctuation, Latin-1 letters or Hangul jamo, is handed to a
+ * KoreanTokenizerImpl, so numbers, e-mail addresses, hosts, acronyms and
+ * the like are still recognized by the grammar.
+ */
+final class KoreanFastTokenizerImpl implements KoreanTokenizerInterface {
+
+	/** No token contains the character */
+	private static final byte SEPARATOR = 0;
+
+	/** [0-9A-Za-z] */
+	private static final byte ALNUM = 1;
+
+	/** {HANLETTER} except jamo */
+	private static final byte HANGUL = 2;
+
+	/** {CHINESELETTER} */
+	private static final byte HANJA = 3;
+
+	/** Any other character a rule of the grammar can match */
+	private static final byte OTHER = 4;
+
+	/** The punctuation of the grammar, which no token can start with but '.' */
+	private static final byte PUNCT = 5;
+
+	/** The scanner only reads one segment at a time, mostly a word or two */
+	private static final int SEGMENT_BUFFER_SIZE = 256;
+
+	private static final byte[] CLASSES = new byte[Character.MAX_VALUE + 1];
+
+	static {
+		// KoreanTokenizerImpl.jflex 의 LETTER, DIGIT, CJ, HANLETTER, CHINESELETTER 와 같아야 한다.
+		fill("AZaz\u00c0\u00d6\u00d8\u00f6\u00f8\u00ff\u0100\u1fff\uffa0\uffdc", OTHER);
+		fill("09\u0660\u0669\u06f0\u06f9\u0966\u096f\u09e6\u09ef\u0a66\u0a6f\u0ae6\u0aef"
+				+ "\u0b66\u0b6f\u0be7\u0bef\u0c66\u0c6f\u0ce6\u0cef\u0d66\u0d6f\u0e50\u0e59\u0ed0\u0ed9"
+				+ "\u1040\u1049", OTHER);
+		fill("\u3040\u318f\u3100\u312f\u30a0\u30ff\u31f0\u31ff\u3300\u337f\uff65\uff9f", OTHER);
+		fill("\u1100\u11ff", OTHER);
+		fill("\u3400\u4dbf\u4e00\u9fff\uf900\ufaff", HANJA);
+		fill("\uac00\ud7af", HANGUL);
+		fill("09AZaz", ALNUM);
+		// P, APOSTROPHE, COMPANY, EMAIL 의 문장부호
+		fill("__--//..,,''&&@@", PUNCT);
+	}
+
+	private static void fill(String ranges, byte c) {
+		for (int i = 0; i < ranges.length(); i += 2) {
+			for (int ch = ranges.charAt(i); ch <= ranges.charAt(i + 1); ch++) {
+				CLASSES[ch] = c;
+			}
+		}
+	}
+
+	private Reader reader;
+
+	private char[] buffer = new char[KoreanTokenizer.DEFAULT_BUFFER_SIZE];
+
+	private int initialBufferSize = KoreanTokenizer.DEFAULT_BUFFER_SIZE;
+
+	private int maxBufferSize = KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE;
+
+	/** The offset of buffer[0] in the input */
+	private int bufferOffset;
+
+	private int pos;
+
+	private int limit;
+
+	private boolean eof;
+
+	/** The rest of the segment being split here */
+	private int fastPos;
+
+	private int fastEnd;
+
+	private int tokenStart;
+
+	private int tokenLength;
+
+	/** The scanner for the other segments */
+	private KoreanTokenizerImpl scanner;
+
+	private boolean scanning;
+
+	/** The offset of the segment given to the scanner */
+	private int scannerOffset;
+
+	KoreanFastTokenizerImpl(Reader reader) {
+		this.reader = reader;
+	}
+
+	public void setBufferSize(int initialSize, int maxSize) {
+		initialBufferSize = initialSize;
+		maxBufferSize = maxSize;
+		buffer = new char[initialSize];
+		if (scanner != null)
+			scanner.setBufferSize(Math.min(initialSize, SEGMENT_BUFFER_SIZE), maxSize);
+	}
+
+	public void reset(Reader reader) {
+		if (buffer.length > maxBufferSize)
+			buffer = new char[initialBufferSize];
+		this.reader = reader;
+		bufferOffset = pos = limit = 0;
+		eof = false;
+		fastPos = fastEnd = 0;
+		tokenStart = tokenLength = 0;
+		scanning = false;
+	}
+
+	public int getNextToken() throws IOException {
+
+		while (true) {
+
+			if (fastPos < fastEnd)
+				return nextFastToken();
+
+			if (scanning) {
+				int type = scanner.getNextToken();
+				if (type != YYEOF)
+					return type;
+				scanning = false;
+			}
+
+			if (!nextSegment()) {
+				tokenStart = pos;
+				tokenLength = 0;
+				return YYEOF;
+			}
+		}
+	}
+
+	public int yychar() {
+		if (scanning)
+			return scannerOffset + scanner.yychar();
+		return bufferOffset + tokenStart;
+	}
+
+	public int yylength() {
+		if (scanning)
+			return scanner.yylength();
+		return tokenLength;
+	}
+
+	public void getText(CharTermAttribute t) {
+		if (scanning)
+			scanner.getText(t);
+		else
+			t.copyBuffer(buffer, tokenStart, tokenLength);
+	}
+
+	public void getText(char[] text) {
+		if (scanning)
+			scanner.getText(text);
+		else
+			System.arraycopy(buffer, tokenStart, text, 0, tokenLength);
+	}
+
+	/**
+	 * KOREAN = [0-9A-Za-z]* 한글+ [0-9A-Za-z]*, CHINESE = 한자+ [0-9A-Za-z]*,
+	 * 한글이 없으면 ALPHANUM 이다.
+	 */
+	private int nextFastToken() {
+
+		int start = fastPos;
+		int i = start;
+		int type;
+
+		if (CLASSES[buffer[i]] == HANJA) {
+			i = skip(i, HANJA);
+			type = KoreanTokenizer.CHINESE;
+		} else {
+			i = skip(i, ALNUM);
+			if (i < fastEnd && CLASSES[buffer[i]] == HANGUL) {
+				i = skip(i, HANGUL);
+				type = KoreanTokenizer.KOREAN;
+			} else {
+				type = KoreanTokenizer.ALPHANUM;
+			}
+		}
+		if (type != KoreanTokenizer.ALPHANUM)
+			i = skip(i, ALNUM);
+
+		tokenStart = start;
+		tokenLength = i - start;
+		fastPos = i;
+		return type;
+	}
+
+	private int skip(int i, byte c) {
+		while (i < fastEnd && CLASSES[buffer[i]] == c) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Finds the next segment and either keeps it to be split here or gives
+	 * it to the scanner. Returns false at the end of the input.
+	 * <p>
+	 *
+	 * Hangul syllables and Hanja are not letters to the grammar, so no token
+	 * goes on from them into punctuation: a segment also ends before
+	 * punctuation that follows them, as in "했다." or "서울,". A segment of
+	 * punctuation alone has no token and is skipped.
+	 */
+	private boolean nextSegment() throws IOException {
+
+		while (true) {
+			while (true) {
+				if (pos == limit && !refill(pos))
+					return false;
+				if (CLASSES[buffer[pos]] != SEPARATOR)
+					break;
+				pos++;
+			}
+
+			int start = pos;
+			boolean fast = true;
+			boolean punctOnly = true;
+			byte last = SEPARATOR;
+			while (true) {
+				if (pos == limit) {
+					boolean more = refill(start);
+					start = 0;
+					if (!more)
+						break;
+				}
+				byte c = CLASSES[buffer[pos]];
+				if (c == SEPARATOR)
+					break;
+				if (c == PUNCT) {
+					if (last == HANGUL || last == HANJA)
+						break;
+					fast = false;
+				} else {
+					punctOnly = false;
+					if (c == OTHER)
+						fast = false;
+				}
+				last = c;
+				pos++;
+			}
+
+			if (punctOnly)
+				continue;
+
+			if (fast) {
+				fastPos = start;
+				fastEnd = pos;
+			} else {
+				if (scanner == null) {
+					scanner = new KoreanTokenizerImpl((Reader) null);
+					scanner.setBufferSize(Math.min(initialBufferSize, SEGMENT_BUFFER_SIZE), maxBufferSize);
+				}
+				scanner.reset(new CharArrayReader(buffer, start, pos - start));
+				scannerOffset = bufferOffset + start;
+				scanning = true;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Moves buffer[keep, limit) to the front of the buffer and reads more
+	 * input after it, growing the buffer if keep is 0 and it is full.
+	 */
+	private boolean refill(int keep) throws IOException {
+
+		if (eof)
+			return false;
+
+		if (keep > 0) {
+			System.arraycopy(buffer, keep, buffer, 0, limit - keep);
+			bufferOffset += keep;
+			limit -= keep;
+			pos -= keep;
+		} else if (limit == buffer.length) {
+			char[] grown = new char[ArrayUtil.oversize(limit + 1, RamUsageEstimator.NUM_BYTES_CHAR)];
+			System.arraycopy(buffer, 0, grown, 0, limit);
+			buffer = grown;
+		}
+
+		int read;
+		do {
+			read = reader.read(buffer, limit, buffer.length - limit);
+		} while (read == 0);
+
+		if (read == -1) {
+			eof = true;
+			return false;
+		}
+		limit += read;
+		return true;
+	}
+}
@@ -22,81 +22,76 @@ import java.io.IOException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
-import org.apache.lucene.analysis.Token;
 import org.apache.lucene.analysis.TokenFilter;
 import org.apache.lucene.analysis.TokenStream;
-import org.apache.lucene.analysis.kr.morph.AnalysisOutput;
-import org.apache.lucene.analysis.kr.morph.CompoundEntry;
-import org.apache.lucene.analysis.kr.morph.CompoundNounAnalyzer;
-import org.apache.lucene.analysis.kr.morph.MorphAnalyzer;
+import org.apache.lucene.analysis.kr.morph.AnalysisBudget;
+import org.apache.lucene.analysis.kr.morph.AnalysisCache;
 import org.apache.lucene.analysis.kr.morph.MorphException;
-import org.apache.lucene.analysis.kr.morph.PatternConstants;
-import org.apache.lucene.analysis.kr.morph.WordEntry;
-import org.apache.lucene.analysis.kr.morph.WordSpaceAnalyzer;
-import org.apache.lucene.analysis.kr.utils.DictionaryUtil;
-import org.apache.lucene.analysis.kr.utils.HanjaUtils;
 import org.apache.lucene.analysis.standard.ClassicTokenizer;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
 import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
-import org.apache.lucene.analysis.tokenattributes.PositionLengthAttribute;
 import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
-import org.apache.lucene.util.Version;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
 
 public class KoreanFilter extends TokenFilter {
 
-	private LinkedList<IndexWord> morphQueue;
+	private final TokenQueue morphQueue = new TokenQueue();
 	
-	private MorphAnalyzer morph;
-	
-	private WordSpaceAnalyzer wsAnal;
-	
-	private boolean bigrammable = true;
-	
-	private boolean hasOrigin = true;
-	
-	private boolean originCNoun = true;
-	
-	private boolean exactMatch = false;
+	/**
+	 * 토큰을 분석하는 설정과 캐시
+	 */
+	private final TermAnalyzer terms;
 	
     private char[] curTermBuffer;
     
     private int curTermLength;
     
-    private String curType;
-    
-    private String curSource;
-    
     private int tokStart;
     
-    private int hanStart = 0; // 한글의 시작 위치, 복합명사일경우
-    
-    private int chStart = 0;
+    /**
+     * 입력 토큰의 위치 증가값, 건너뛴 긴 토큰이 있으면 1 보다 크다.
+     */
+    private int tokPosIncr;
 	  
-	private CompoundNounAnalyzer cnAnalyzer = new CompoundNounAnalyzer();
+	/**
+	 * 미리 읽은 한글 어절을 분석하는 쓰레드, null 이면 미리 읽지 않는다.
+	 */
+	private Executor readAheadExecutor;
+	
+	private int readAheadWindow;
+	
+	private final List<State> readAheadStates = new ArrayList<State>();
+	
+	/**
+	 * 미리 읽은 토큰마다 그 분석, 분석할 필요가 없는 토큰은 null
+	 */
+	private final List<FutureTask<TermCache.Entry>> readAheadTasks = new ArrayList<FutureTask<TermCache.Entry>>();
+	
+	private int readAheadPos;
+	
+	private FutureTask<TermCache.Entry> curReadAhead;
 	
     private final CharTermAttribute termAtt = addAttribute(CharTermAttribute.class);
     private final PositionIncrementAttribute posIncrAtt = addAttribute(PositionIncrementAttribute.class);
-    private final PositionLengthAttribute posLenAtt = addAttribute(PositionLengthAttribute.class);
     private final TypeAttribute typeAtt = addAttribute(TypeAttribute.class);
     private final OffsetAttribute offsetAtt = addAttribute(OffsetAttribute.class);
+    private final KoreanTokenTypeAttribute tokenTypeAtt = addAttribute(KoreanTokenTypeAttribute.class);
     
     private static final String APOSTROPHE_TYPE = ClassicTokenizer.TOKEN_TYPES[ClassicTokenizer.APOSTROPHE];
     private static final String ACRONYM_TYPE = ClassicTokenizer.TOKEN_TYPES[ClassicTokenizer.ACRONYM];
     
 	public KoreanFilter(TokenStream input) {
 		super(input);
-		morphQueue =  new LinkedList<IndexWord>();
-		morph = new MorphAnalyzer();
-		wsAnal = new WordSpaceAnalyzer();
-		cnAnalyzer.setExactMach(false);
+		terms = new TermAnalyzer(KoreanEngine.getInstance(false), true, true, false, true);
 	}
 
 	/**
@@ -106,324 +101,244 @@ public class KoreanFilter extends TokenFilter {
 	 */
 	public KoreanFilter(TokenStream input, boolean bigram) {
 		this(input);	
-		bigrammable = bigram;
+		terms.setBigrammable(bigram);
 	}
 	
 	public KoreanFilter(TokenStream input, boolean bigram, boolean has) {
 		this(input, bigram);
-		hasOrigin = has;
+		terms.setHasOrigin(has);
 	}
 	
 	public KoreanFilter(TokenStream input, boolean bigram, boolean has, boolean match) {
 		this(input, bigram,has);
-		this.exactMatch = match;
+		terms.setExactMatch(match);
 	}
 	
 	public KoreanFilter(TokenStream input, boolean bigram, boolean has, boolean match, boolean cnoun) {
 		this(input, bigram,has, match);
-		this.originCNoun = cnoun;
+		terms.setOriginCNoun(cnoun);
+	}
+	
+	/**
+	 * @param engine	보통 {@link KoreanEngine#getInstance(boolean)}, 같은 분석기를 모든 필터가 같이 쓴다.
+	 */
+	public KoreanFilter(TokenStream input, KoreanEngine engine, boolean bigram, boolean has, boolean match, boolean cnoun) {
+		this(input, bigram, has, match, cnoun);
+		terms.setEngine(engine);
 	}
 	
 	public boolean incrementToken() throws IOException {
 
-		if(curTermBuffer!=null&&morphQueue.size()>0) {
+		if(curTermBuffer!=null&&!morphQueue.isEmpty()) {
 		   setTermBufferByQueue(false);
            return true;
 		}
 
-		if(!input.incrementToken()) return false;
-		
-        curTermBuffer = termAtt.buffer().clone();
-        curTermLength = termAtt.length();
-        tokStart = offsetAtt.startOffset();		
-        curType = typeAtt.type();
-
-		try {			
-	    	if(KoreanTokenizer.TOKEN_TYPES[KoreanTokenizer.KOREAN].equals(curType)) {		    		
-	    		analysisKorean(new String(curTermBuffer,0,termAtt.length()));
-	    	} else if(KoreanTokenizer.TOKEN_TYPES[KoreanTokenizer.CHINESE].equals(curType)) {
-	    		analysisChinese(new String(curTermBuffer,0,termAtt.length()));
-	    	} else {
-	    		analysisETC(new String(curTermBuffer,0,termAtt.length()));
-	    	}	    	
-		}catch(MorphException e) {
-			throw new IOException("Korean Filter MorphException\n"+e.getMessage());
-		}
-
-		if(morphQueue!=null&&morphQueue.size()>0) {
-			setTermBufferByQueue(true);	
-		} else {
-			return incrementToken();
+		// 색인어가 나오지 않는 토큰은 건너뛰고 다음 토큰을 분석한다.
+		while(nextInputToken()) {
+			
+			analysisToken();
+			
+			if(!morphQueue.isEmpty()) {
+				setTermBufferByQueue(true);
+				return true;
+			}
 		}
-
-        return true;
-
+		
+		return false;
+	}
+	
+	@Override
+	public void reset() throws IOException {
+		super.reset();
+		morphQueue.clear();
+		readAheadStates.clear();
+		readAheadTasks.clear();
+		readAheadPos = 0;
+		curReadAhead = null;
 	}
 	
 	/**
-	 * queue에 저장된 값으로 buffer의 값을 복사한다.
+	 * 다음 입력 토큰으로 이동한다. 미리 읽기를 하면 미리 읽은 토큰의 속성을 되살린다.
 	 */
-	private void setTermBufferByQueue(boolean isFirst) {
+	private boolean nextInputToken() throws IOException {
 		
-        clearAttributes();
-        
-        IndexWord iw = morphQueue.removeFirst();
-        int pos = iw.getOffset();
-
-        termAtt.copyBuffer(iw.getWord().toCharArray(), 0, iw.getWord().length());
-        offsetAtt.setOffset(tokStart+pos, tokStart + pos + iw.getWord().length());
-        
-        if(!isFirst && iw.getOffset()==0) {
-	        posIncrAtt.setPositionIncrement(0);
-//	        posLenAtt.setPositionLength(iw.getWord().length());
-        }
-        
+		if(readAheadExecutor==null) return input.incrementToken();
+		
+		if(readAheadPos==readAheadStates.size()) {
+			readAhead();
+			if(readAheadStates.isEmpty()) return false;
+		}
+		
+		restoreState(readAheadStates.get(readAheadPos));
+		curReadAhead = readAheadTasks.get(readAheadPos);
+		readAheadPos++;
+		return true;
 	}
 	
 	/**
-	 * 한글을 분석한다.
-	 * @param token
-	 * @param skipinc
-	 * @return
-	 * @throws MorphException
+	 * 입력 토큰을 readAheadWindow 개까지 읽어 두고, 캐시에 없는 한글 어절은
+	 * readAheadExecutor 에서 분석을 시작한다. 같은 어절은 한번만 분석한다.
 	 */
-	private void analysisKorean(String input) throws MorphException {
-
-		List<AnalysisOutput> outputs = morph.analyze(input);
-		if(outputs.size()==0) return;
+	private void readAhead() throws IOException {
 		
-		Map<String,IndexWord> map = new LinkedHashMap();
-		if(hasOrigin) map.put(input, new IndexWord(input,0));
-
-		if(outputs.get(0).getScore()>=AnalysisOutput.SCORE_COMPOUNDS) 
-		{
-			extractKeyword(outputs, map);			
-		} 
-		else 
-		{			
-			try
-			{
-				List<AnalysisOutput> list = wsAnal.analyze(input);
-				
-				List<AnalysisOutput> results = new ArrayList();			
-				if(list.size()>1) {
-					for(AnalysisOutput o : list) {
-						if(hasOrigin) map.put(o.getSource(), new IndexWord(o.getSource(),0));				
-						results.addAll(morph.analyze(o.getSource()));
-					}				
-				} else {
-					results.addAll(list);
-				}
-	
-				extractKeyword(results, map);
-				
-			}
-			catch(Exception e) 
-			{
-				extractKeyword(outputs, map);
-			}
-			
-		}
+		readAheadStates.clear();
+		readAheadTasks.clear();
+		readAheadPos = 0;
 		
-		Iterator<String> iter = map.keySet().iterator();
+		Map<String, FutureTask<TermCache.Entry>> tasks = new HashMap<String, FutureTask<TermCache.Entry>>();
 		
-		while(iter.hasNext()) {			
-			String text = iter.next();		
-			if(text.length()<=1) continue;	
-			morphQueue.add(map.get(text));
+		while(readAheadStates.size()<readAheadWindow && input.incrementToken()) {
+			
+			readAheadStates.add(captureState());
+			
+			FutureTask<TermCache.Entry> task = null;
+			if(tokenType()==KoreanTokenizer.KOREAN 
+					&& !terms.isCached(termAtt.buffer(), termAtt.length())) {
+				final String term = termAtt.toString();
+				task = tasks.get(term);
+				if(task==null) {
+					task = new FutureTask<TermCache.Entry>(new Callable<TermCache.Entry>() {
+						public TermCache.Entry call() throws MorphException {
+							TokenQueue queue = new TokenQueue();
+							terms.analysisKorean(term, queue);
+							return queue.toEntry();
+						}
+					});
+					tasks.put(term, task);
+					readAheadExecutor.execute(task);
+				}
+			}
+			readAheadTasks.add(task);
 		}
-	
 	}
 	
-	private void extractKeyword(List<AnalysisOutput> outputs, Map<String,IndexWord> map) throws MorphException {
-
-		for(AnalysisOutput output : outputs) {	
-
-			if(output.getPos()!=PatternConstants.POS_VERB) {
-				if(originCNoun || (!originCNoun&&output.getCNounList().size()==0)) {
-					map.put(output.getStem(), new IndexWord(output.getStem(),0));	
-				}
-//			}else {
-//				map.put(output.getStem()+"다", new Integer(1));	
-			}		
-
-			if(exactMatch) continue;
-
-			if(output.getScore()>=AnalysisOutput.SCORE_COMPOUNDS) {
-				
-				List<CompoundEntry> cnouns = output.getCNounList();
-				int start = 0;
-
-				for(int jj=0;jj<cnouns.size();jj++) {
-					
-					CompoundEntry cnoun = cnouns.get(jj);
-
-					if(cnoun.getWord().length()>1) map.put(cnoun.getWord(),  new IndexWord(cnoun.getWord(), start));
-					
-					if(jj==0 && cnoun.getWord().length()==1) {
-						map.put(cnoun.getWord()+cnouns.get(jj+1).getWord(),  new IndexWord(cnoun.getWord(), start));
-					} else if(jj>1 && cnoun.getWord().length()==1) {
-						String iw = cnouns.get(jj-1).getWord()+cnoun.getWord();
-						map.put(iw,  new IndexWord(iw, start-cnouns.get(jj-1).getWord().length()));
-					}
-					
-					start += cnoun.getWord().length();
-				}
-				
-			} else if(bigrammable) {
-				addBiagramToMap(output.getStem(),map);
-			}
-			
+	private TermCache.Entry getReadAhead(FutureTask<TermCache.Entry> task) throws MorphException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MorphException("Interrupted while waiting for the analysis", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof MorphException) throw (MorphException)e.getCause();
+			if(e.getCause() instanceof RuntimeException) throw (RuntimeException)e.getCause();
+			throw new MorphException(e.getCause());
 		}
-
 	}
 	
-	private void addBiagramToMap(String input, Map<String,IndexWord> map) {
-		
-		int offset = 0;
-		int strlen = input.length();
+	/**
+	 * 입력 토큰을 복사하고 유형에 따라 분석하여 색인어를 큐에 넣는다.
+	 */
+	private void analysisToken() throws IOException {
 		
-		while(offset<strlen-1) {
-			
-			if(isAlphaNumChar(input.charAt(offset))) {
-				String text = findAlphaNumeric(input.substring(offset));
-				map.put(text,  new IndexWord(text, offset));
-				offset += text.length();
+        curTermLength = termAtt.length();
+        if(curTermBuffer==null||curTermBuffer.length<curTermLength) 
+        	curTermBuffer = new char[ArrayUtil.oversize(curTermLength, RamUsageEstimator.NUM_BYTES_CHAR)];
+        System.arraycopy(termAtt.buffer(), 0, curTermBuffer, 0, curTermLength);
+        tokStart = offsetAtt.startOffset();		
+        tokPosIncr = posIncrAtt.getPositionIncrement();
+        int type = tokenType();
+
+        morphQueue.clear();
+		try {
+			if(curReadAhead!=null) {
+				if(!terms.analysisKoreanByCache(curTermBuffer, curTermLength, morphQueue)) {
+					morphQueue.addAll(getReadAhead(curReadAhead));
+					terms.putCache(curTermBuffer, curTermLength, morphQueue);
+				}
 			} else {
-				String text = input.substring(offset,
-						offset+2>strlen?strlen:offset+2);
-				map.put(text,  new IndexWord(text, offset));
-				offset++;
+				terms.analysis(curTermBuffer, curTermLength, type, morphQueue);
 			}
-			
+		}catch(MorphException e) {
+			throw new IOException("Korean Filter MorphException\n"+e.getMessage());
 		}
 	}
 	
-	private String findAlphaNumeric(String text) {
-		int pos = 0;
-		for(int i=0;i<text.length();i++) {
-			if(!isAlphaNumChar(text.charAt(i))) break;
-			pos++;
-		}				
-		return text.substring(0,pos);
+	/**
+	 * 현재 토큰의 KoreanTokenizer 유형. KoreanTokenizer 가 아닌 토큰열의 토큰은 유형 문자열에서
+	 * 찾고, 나머지는 모두 ALPHANUM 과 같이 처리한다.
+	 */
+	private int tokenType() {
+		int tokenType = tokenTypeAtt.getTokenType();
+		if(tokenType!=KoreanTokenTypeAttribute.UNKNOWN) return tokenType;
+		
+		String type = typeAtt.type();
+		if(KoreanTokenizer.TOKEN_TYPES[KoreanTokenizer.KOREAN].equals(type)) return KoreanTokenizer.KOREAN;
+		if(KoreanTokenizer.TOKEN_TYPES[KoreanTokenizer.CHINESE].equals(type)) return KoreanTokenizer.CHINESE;
+		if(type == APOSTROPHE_TYPE) return KoreanTokenizer.APOSTROPHE;
+		if(type == ACRONYM_TYPE) return KoreanTokenizer.ACRONYM;
+		return KoreanTokenizer.ALPHANUM;
 	}
 	
 	/**
-	 * 한자는 2개이상의 한글 음으로 읽혀질 수 있다.
-	 * 두음법칙이 아님.
-	 * @param term
-	 * @throws MorphException
+	 * queue에 저장된 값으로 buffer의 값을 복사한다.
 	 */
-	private void analysisChinese(String term) throws MorphException {	
-		
-		morphQueue.add(new IndexWord(term,0));
-		if(term.length()<2) return; // 1글자 한자는 색인어로 한글을 추출하지 않는다.
-		
-		List<StringBuffer> candiList = new ArrayList();
-		candiList.add(new StringBuffer());
+	private void setTermBufferByQueue(boolean isFirst) {
 		
-		for(int i=0;i<term.length();i++) {
+        clearAttributes();
+        
+        int i = morphQueue.next();
+        int pos = morphQueue.offset(i);
+        int length = morphQueue.length(i);
 
-			char[] chs = HanjaUtils.convertToHangul(term.charAt(i));			
-			if(chs==null) continue;
-		
-			int caniSize = candiList.size();
-			for(int j=0;j<caniSize;j++) { 
-				StringBuffer sb = candiList.get(j);
-				
-				for(int k=1;k<chs.length;k++) { // 추가로 생성된 음에 대해서 새로운 텍스트를 생성한다.
-					if(k==1) break; // 2개 이상의 음을 가지고 있는 경우 첫번째 음으로만 처리를 한다.
-					StringBuffer cpSb = new StringBuffer(sb);
-					cpSb.append(chs[k]);
-					
-					candiList.add(cpSb);
-				}
-				
-				sb.append(chs[0]);
-			}							
-		}
-		
-		int maxCandidate = 5;
-		if(candiList.size()<maxCandidate) maxCandidate=candiList.size();
-		
-		for(int i=0;i<maxCandidate;i++) {
-			morphQueue.add(new IndexWord(candiList.get(i).toString(),0));
-		}
-		
-		Map<String, String> cnounMap = new HashMap();
-		
-		// 추출된 명사가 복합명사인 경우 분리한다.
-		for(int i=0;i<maxCandidate;i++) {
-			List<CompoundEntry> results = confirmCNoun(candiList.get(i).toString());
-			
-			int pos = 0;
-			int offset = 0;
-		    for(CompoundEntry entry : results) {				
-			   pos += entry.getWord().length();	
-			   if(cnounMap.get(entry.getWord())!=null) continue;
-			   
-			   // 한글과 매치되는 한자를 짤라서 큐에 저장한다.				   
-			   morphQueue.add(new IndexWord(term.substring(offset,pos),offset));
-			   
-			   cnounMap.put(entry.getWord(), entry.getWord());
-			   
-			   if(entry.getWord().length()<2) continue; //  한글은 2글자 이상만 저장한다.
-			   
-			   // 분리된 한글을 큐에 저장한다.	
-			   morphQueue.add(new IndexWord(entry.getWord(),offset));
-			   
-			   offset = pos;
-		    }		   
-		}		
+        termAtt.copyBuffer(morphQueue.chars(), morphQueue.start(i), length);
+        offsetAtt.setOffset(tokStart+pos, tokStart + pos + length);
+        
+        if(isFirst) {
+        	posIncrAtt.setPositionIncrement(tokPosIncr);
+        } else if(pos==0) {
+	        posIncrAtt.setPositionIncrement(0);
+        }
+        
 	}
 	
-	private List confirmCNoun(String input) throws MorphException {
-		
-		   WordEntry cnoun = DictionaryUtil.getCNoun(input);
-		   if(cnoun!=null && cnoun.getFeature(WordEntry.IDX_NOUN)=='2') {
-			  return cnoun.getCompounds();
-		   }
-		   
-		   return cnAnalyzer.analyze(input);
-		   
+	public void setHasOrigin(boolean has) {
+		terms.setHasOrigin(has);
 	}
-	
-	private void analysisETC(String term) throws MorphException {
-
-	    final char[] buffer = termAtt.buffer();
-	    final int bufferLength = termAtt.length();
-	    final String type = typeAtt.type();
 
-	    if (type == APOSTROPHE_TYPE &&      // remove 's
-	        bufferLength >= 2 &&
-	        buffer[bufferLength-2] == '\'' &&
-	        (buffer[bufferLength-1] == 's' || buffer[bufferLength-1] == 'S')) {
-	      // Strip last 2 characters off
-	      morphQueue.add(new IndexWord(term.substring(0,bufferLength - 2),0));
-	    } else if (type == ACRONYM_TYPE) {      // remove dots
-	      int upto = 0;
-	      for(int i=0;i<bufferLength;i++) {
-	        char c = buffer[i];
-	        if (c != '.')
-	          buffer[upto++] = c;
-	      }
-	      morphQueue.add(new IndexWord(term.substring(0,upto),0));
-	    } else {
-	    	morphQueue.add(new IndexWord(term,0));
-	    }
-		
+	/**
+	 * 어절의 분석결과를 캐시에 저장하고 같은 어절은 캐시에서 가져온다.
+	 * 공유 캐시 앞에 이 필터만 사용하는 작은 캐시를 둔다.
+	 * @param cache	보통 AnalysisCache.getInstance(), null 이면 캐시를 사용하지 않는다.
+	 */
+	public void setCache(AnalysisCache cache) {
+		if(cache==null) 
+			terms.setEngine(KoreanEngine.getInstance(false));
+		else if(cache==AnalysisCache.getInstance()) 
+			terms.setEngine(KoreanEngine.getInstance(true));
+		else 
+			terms.setEngine(new KoreanEngine(cache));
 	}
 	
-	private boolean isAlphaNumChar(int c) {
-		if((c>=48&&c<=57)||(c>=65&&c<=122)) return true;		
-		return false;
+	/**
+	 * 큰 필드를 빨리 분석하기 위해 토큰을 window 개씩 미리 읽어서 한글 어절의
+	 * 형태소 분석을 executor 에 나누어 맡긴다. 색인어는 원래 순서대로 나오고
+	 * 위치와 offset 도 같다. 기본값은 미리 읽지 않는 것이다.
+	 * @param executor	null 이면 미리 읽지 않는다.
+	 * @param window	한번에 미리 읽는 토큰의 수, 1 이하이면 미리 읽지 않는다.
+	 */
+	public void setReadAhead(Executor executor, int window) {
+		if(executor==null || window<=1) {
+			readAheadExecutor = null;
+			readAheadWindow = 0;
+		} else {
+			readAheadExecutor = executor;
+			readAheadWindow = window;
+		}
 	}
-	
-	public void setHasOrigin(boolean has) {
-		hasOrigin = has;
+
+	/**
+	 * 어절 하나의 형태소 분석에 쓸 수 있는 시간을 정한다. 띄어쓰기 없이 긴 한글처럼
+	 * 분석이 오래 걸리는 어절은 시간을 넘기면 분석을 멈추고 bigrammable 과 상관없이
+	 * 원어절과 bigram 으로 색인한다. 그런 어절의 수는 {@link AnalysisBudget#getExceededCount()}
+	 * 로 알 수 있다. 기본값은 제한하지 않는 것이다.
+	 * @param nanos	0 이하이면 제한하지 않는다.
+	 */
+	public void setAnalysisBudget(long nanos) {
+		terms.setAnalysisBudget(nanos);
 	}
 
 	public void setExactMatch(boolean match) {
-		this.exactMatch = match;
+		terms.setExactMatch(match);
 	}
 }
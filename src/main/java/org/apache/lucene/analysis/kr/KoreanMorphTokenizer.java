@@ -0,0 +1,183 @@
+package org.apache.lucene.analysis.kr;
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.kr.morph.MorphException;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.apache.lucene.util.Version;
+
+/**
+ * {@link KoreanTokenizer} 와 {@link KoreanFilter} 를 합친 Tokenizer.
+ * <p>
+ *
+ * 스캐너가 찾은 토큰을 속성에 복사하지 않고 바로 이 Tokenizer 의 버퍼로 가져와 유형(int)에
+ * 따라 분석하고, 색인어만 CharTermAttribute 에 넣는다. 색인어, 위치, offset 은
+ * KoreanTokenizer 와 KoreanFilter 를 이은 것과 같다. 미리 읽기
+ * ({@link KoreanFilter#setReadAhead}) 는 지원하지 않는다.
+ */
+public final class KoreanMorphTokenizer extends Tokenizer {
+
+	private final KoreanTokenizerInterface scanner;
+
+	private final TermAnalyzer terms;
+
+	private final TokenQueue morphQueue = new TokenQueue();
+
+	/** 분석 중인 토큰 */
+	private char[] termBuffer = new char[64];
+
+	/** 분석 중인 토큰의 시작 offset */
+	private int tokStart;
+
+	private int maxTokenLength = StandardAnalyzer.DEFAULT_MAX_TOKEN_LENGTH;
+
+	private final CharTermAttribute termAtt = addAttribute(CharTermAttribute.class);
+	private final OffsetAttribute offsetAtt = addAttribute(OffsetAttribute.class);
+	private final PositionIncrementAttribute posIncrAtt = addAttribute(PositionIncrementAttribute.class);
+
+	/**
+	 * @param engine	보통 {@link KoreanEngine#getInstance(String, boolean)}
+	 * @see KoreanFilter#KoreanFilter(org.apache.lucene.analysis.TokenStream, KoreanEngine, boolean, boolean, boolean, boolean)
+	 */
+	public KoreanMorphTokenizer(Version matchVersion, Reader input, KoreanEngine engine,
+			boolean bigram, boolean has, boolean match, boolean cnoun) {
+		this(matchVersion, input, engine, bigram, has, match, cnoun, false);
+	}
+
+	/**
+	 * @param fastScanner	{@link KoreanTokenizer#KoreanTokenizer(Version, Reader, boolean)} 참조
+	 */
+	public KoreanMorphTokenizer(Version matchVersion, Reader input, KoreanEngine engine,
+			boolean bigram, boolean has, boolean match, boolean cnoun, boolean fastScanner) {
+		super(input);
+		scanner = fastScanner ? new KoreanFastTokenizerImpl(input) : new KoreanTokenizerImpl(input);
+		terms = new TermAnalyzer(engine, bigram, has, match, cnoun);
+	}
+
+	@Override
+	public boolean incrementToken() throws IOException {
+
+		if(!morphQueue.isEmpty()) {
+			setTermBufferByQueue(false);
+			return true;
+		}
+
+		// 색인어가 나오지 않는 토큰은 건너뛴다. 긴 토큰은 KoreanTokenizer 와 같이 위치를 하나 차지한다.
+		int posIncr = 1;
+		while(true) {
+			int tokenType = scanner.getNextToken();
+			if(tokenType==KoreanTokenizerInterface.YYEOF) return false;
+
+			int length = scanner.yylength();
+			if(length>maxTokenLength) {
+				posIncr++;
+				continue;
+			}
+
+			if(termBuffer.length<length)
+				termBuffer = new char[ArrayUtil.oversize(length, RamUsageEstimator.NUM_BYTES_CHAR)];
+			scanner.getText(termBuffer);
+			tokStart = correctOffset(scanner.yychar());
+
+			morphQueue.clear();
+			try {
+				terms.analysis(termBuffer, length, tokenType, morphQueue);
+			} catch(MorphException e) {
+				throw new IOException("Korean Filter MorphException\n"+e.getMessage());
+			}
+
+			if(!morphQueue.isEmpty()) {
+				setTermBufferByQueue(true);
+				posIncrAtt.setPositionIncrement(posIncr);
+				return true;
+			}
+			posIncr = 1;
+		}
+	}
+
+	private void setTermBufferByQueue(boolean isFirst) {
+
+		clearAttributes();
+
+		int i = morphQueue.next();
+		int pos = morphQueue.offset(i);
+		int length = morphQueue.length(i);
+
+		termAtt.copyBuffer(morphQueue.chars(), morphQueue.start(i), length);
+		offsetAtt.setOffset(tokStart+pos, tokStart+pos+length);
+
+		if(!isFirst && pos==0) posIncrAtt.setPositionIncrement(0);
+	}
+
+	@Override
+	public void end() {
+		int finalOffset = correctOffset(scanner.yychar() + scanner.yylength());
+		offsetAtt.setOffset(finalOffset, finalOffset);
+	}
+
+	@Override
+	public void reset() throws IOException {
+		scanner.reset(input);
+		morphQueue.clear();
+	}
+
+	/**
+	 * @see KoreanTokenizer#setMaxTokenLength(int)
+	 */
+	public void setMaxTokenLength(int length) {
+		this.maxTokenLength = length;
+	}
+
+	public int getMaxTokenLength() {
+		return maxTokenLength;
+	}
+
+	/**
+	 * @see KoreanTokenizer#setBufferSize(int, int)
+	 */
+	public void setBufferSize(int initialSize, int maxSize) {
+		if (initialSize < 1 || maxSize < initialSize)
+			throw new IllegalArgumentException("invalid buffer size: "
+					+ initialSize + ", max " + maxSize);
+		scanner.setBufferSize(initialSize, maxSize);
+	}
+
+	/**
+	 * @see KoreanFilter#setAnalysisBudget(long)
+	 */
+	public void setAnalysisBudget(long nanos) {
+		terms.setAnalysisBudget(nanos);
+	}
+
+	public void setHasOrigin(boolean has) {
+		terms.setHasOrigin(has);
+	}
+
+	public void setExactMatch(boolean match) {
+		terms.setExactMatch(match);
+	}
+}
@@ -0,0 +1,39 @@
+package org.apache.lucene.analysis.kr;
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.apache.lucene.util.Attribute;
+
+/**
+ * The type of a token as one of the int constants of {@link KoreanTokenizer},
+ * such as {@link KoreanTokenizer#KOREAN}. KoreanTokenizer sets it along with
+ * the type string of the TypeAttribute, so that {@link KoreanFilter} can
+ * dispatch on it without comparing strings.
+ */
+public interface KoreanTokenTypeAttribute extends Attribute {
+
+	/** The type of a token that does not come from a KoreanTokenizer */
+	public static final int UNKNOWN = -1;
+
+	/**
+	 * Returns the token type, {@link #UNKNOWN} by default.
+	 */
+	public int getTokenType();
+
+	public void setTokenType(int type);
+}
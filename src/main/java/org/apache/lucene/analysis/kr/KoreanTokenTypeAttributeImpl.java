@@ -0,0 +1,60 @@
+package org.apache.lucene.analysis.kr;
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.apache.lucene.util.AttributeImpl;
+
+/**
+ * Default implementation of {@link KoreanTokenTypeAttribute}.
+ */
+public final class KoreanTokenTypeAttributeImpl extends AttributeImpl implements KoreanTokenTypeAttribute {
+
+	private int type = UNKNOWN;
+
+	public int getTokenType() {
+		return type;
+	}
+
+	public void setTokenType(int type) {
+		this.type = type;
+	}
+
+	@Override
+	public void clear() {
+		type = UNKNOWN;
+	}
+
+	@Override
+	public void copyTo(AttributeImpl target) {
+		((KoreanTokenTypeAttribute) target).setTokenType(type);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (other == this)
+			return true;
+		if (other instanceof KoreanTokenTypeAttributeImpl)
+			return type == ((KoreanTokenTypeAttributeImpl) other).type;
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return type;
+	}
+}
@@ -31,8 +31,8 @@ import org.apache.lucene.util.Version;
 
 public class KoreanTokenizer extends Tokenizer {
 
-	/** A private instance of the JFlex-constructed scanner */
-	private final KoreanTokenizerImpl scanner;
+	/** A private instance of the JFlex-constructed scanner, or of the fast one */
+	private final KoreanTokenizerInterface scanner;
 
 	public static final int ALPHANUM = 0;
 	public static final int APOSTROPHE = 1;
@@ -55,6 +55,12 @@ public class KoreanTokenizer extends Tokenizer {
 
 	private int maxTokenLength = StandardAnalyzer.DEFAULT_MAX_TOKEN_LENGTH;
 
+	/** The size of the scanner buffer, in chars, that of the JFlex scanner */
+	public static final int DEFAULT_BUFFER_SIZE = 16384;
+
+	/** The largest scanner buffer kept from one input to the next, in chars */
+	public static final int DEFAULT_MAX_BUFFER_SIZE = 1024 * 1024;
+
 	/**
 	 * Set the max allowed token length. Any token longer than this is skipped.
 	 */
@@ -67,6 +73,25 @@ public class KoreanTokenizer extends Tokenizer {
 		return maxTokenLength;
 	}
 
+	/**
+	 * Set the size of the scanner buffer, which is also how much is read
+	 * from the input at a time. The buffer grows as needed for long tokens
+	 * and fields, and a grown buffer is kept for the next input unless it
+	 * is larger than maxSize. Small fields want a small buffer, large
+	 * fields a large maxSize. Call it before the tokenizer is reset.
+	 * 
+	 * @param initialSize
+	 *            {@link #DEFAULT_BUFFER_SIZE} by default
+	 * @param maxSize
+	 *            {@link #DEFAULT_MAX_BUFFER_SIZE} by default
+	 */
+	public void setBufferSize(int initialSize, int maxSize) {
+		if (initialSize < 1 || maxSize < initialSize)
+			throw new IllegalArgumentException("invalid buffer size: "
+					+ initialSize + ", max " + maxSize);
+		scanner.setBufferSize(initialSize, maxSize);
+	}
+
 	/**
 	 * Creates a new instance of the
 	 * {@link org.apache.lucene.analysis.standard.StandardTokenizer}. Attaches
@@ -78,8 +103,18 @@ public class KoreanTokenizer extends Tokenizer {
 	 *            See http://issues.apache.org/jira/browse/LUCENE-1068
 	 */
 	public KoreanTokenizer(Version matchVersion, Reader input) {
+		this(matchVersion, input, false);
+	}
+
+	/**
+	 * @param fastScanner
+	 *            if true, Hangul, Hanja and ASCII words are scanned by a
+	 *            hand written scanner that only falls back to the JFlex
+	 *            scanner for the other words. The tokens are the same.
+	 */
+	public KoreanTokenizer(Version matchVersion, Reader input, boolean fastScanner) {
 		super(input);
-		this.scanner = new KoreanTokenizerImpl(input);
+		this.scanner = fastScanner ? new KoreanFastTokenizerImpl(input) : new KoreanTokenizerImpl(input);
 		init(input, matchVersion);
 	}
 
@@ -113,12 +148,13 @@ public class KoreanTokenizer extends Tokenizer {
 		this.input = input;
 	}
 
-	// this tokenizer generates three attributes:
-	// term offset, positionIncrement and type
+	// this tokenizer generates four attributes:
+	// term offset, positionIncrement, type and the int type
 	private final CharTermAttribute termAtt = addAttribute(CharTermAttribute.class);
 	private final OffsetAttribute offsetAtt = addAttribute(OffsetAttribute.class);
 	private final PositionIncrementAttribute posIncrAtt = addAttribute(PositionIncrementAttribute.class);
 	private final TypeAttribute typeAtt = addAttribute(TypeAttribute.class);
+	private final KoreanTokenTypeAttribute tokenTypeAtt = addAttribute(KoreanTokenTypeAttribute.class);
 
 	/*
 	 * (non-Javadoc)
@@ -133,7 +169,7 @@ public class KoreanTokenizer extends Tokenizer {
 		while (true) {
 			int tokenType = scanner.getNextToken();
 
-			if (tokenType == KoreanTokenizerImpl.YYEOF) {
+			if (tokenType == KoreanTokenizerInterface.YYEOF) {
 				return false;
 			}
 
@@ -144,6 +180,7 @@ public class KoreanTokenizer extends Tokenizer {
 				offsetAtt.setOffset(correctOffset(start), correctOffset(start
 						+ termAtt.length()));
 				typeAtt.setType(KoreanTokenizer.TOKEN_TYPES[tokenType]);
+				tokenTypeAtt.setTokenType(tokenType);
 
 				return true;
 			} else
@@ -162,7 +199,7 @@ public class KoreanTokenizer extends Tokenizer {
 
 	@Override
 	public void reset() throws IOException {
-		scanner.yyreset(input);
+		scanner.reset(input);
 	}
 
 }
@@ -28,7 +28,7 @@ import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
  * on 13. 6. 3 오후 4:14 from the specification file
  * <tt>/Users/xissysnd/recom.io/elasticsearch-analysis-korean/src/main/jflex/KoreanTokenizerImpl.jflex</tt>
  */
-class KoreanTokenizerImpl {
+class KoreanTokenizerImpl implements KoreanTokenizerInterface {
 
   /** This character denotes the end of file */
   public static final int YYEOF = -1;
@@ -488,9 +488,44 @@ public final int yychar()
 /**
  * Fills Lucene token with the current token text.
  */
-final void getText(CharTermAttribute t) {
+public final void getText(CharTermAttribute t) {
   t.copyBuffer(zzBuffer, zzStartRead, zzMarkedPos-zzStartRead);
 }
+
+/**
+ * Copies the current token text into buffer, at least yylength() long.
+ */
+public final void getText(char[] buffer) {
+  System.arraycopy(zzBuffer, zzStartRead, buffer, 0, zzMarkedPos-zzStartRead);
+}
+
+/** the size of a new buffer */
+private int initialBufferSize = ZZ_BUFFERSIZE;
+
+/** a buffer that grew larger than this is dropped by reset */
+private int maxBufferSize = KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE;
+
+/**
+ * Sets the size of the buffer the scanner starts with, and the largest
+ * buffer it keeps from one input to the next. The buffer grows for long
+ * input; a grown buffer saves copying on the next long input, up to
+ * maxSize. Discards the buffered input, so call it before reset.
+ */
+public final void setBufferSize(int initialSize, int maxSize) {
+  initialBufferSize = initialSize;
+  maxBufferSize = maxSize;
+  zzBuffer = new char[initialSize];
+}
+
+/**
+ * Resets the scanner to read from a new input stream, like yyreset,
+ * but drops a buffer that grew larger than the maximum size.
+ */
+public final void reset(java.io.Reader reader) {
+  if (zzBuffer.length > maxBufferSize)
+    zzBuffer = new char[initialBufferSize];
+  yyreset(reader);
+}
 
 
   /**
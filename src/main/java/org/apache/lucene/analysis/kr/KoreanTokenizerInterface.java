@@ -0,0 +1,75 @@
+package org.apache.lucene.analysis.kr;
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+
+/**
+ * The scanner behind {@link KoreanTokenizer}, either the JFlex generated
+ * {@link KoreanTokenizerImpl} or the {@link KoreanFastTokenizerImpl}.
+ */
+interface KoreanTokenizerInterface {
+
+	/** This character denotes the end of file */
+	int YYEOF = -1;
+
+	/**
+	 * Copies the matched text into the given CharTermAttribute
+	 */
+	void getText(CharTermAttribute t);
+
+	/**
+	 * Copies the matched text into buffer, which is at least
+	 * {@link #yylength()} long.
+	 */
+	void getText(char[] buffer);
+
+	/**
+	 * Returns the current position.
+	 */
+	int yychar();
+
+	/**
+	 * Resets the scanner to read from a new input stream. A buffer that
+	 * grew larger than the maximum size is dropped.
+	 */
+	void reset(Reader reader);
+
+	/**
+	 * Sets the size of a new buffer and the largest buffer kept by
+	 * {@link #reset(Reader)}.
+	 */
+	void setBufferSize(int initialSize, int maxSize);
+
+	/**
+	 * Returns the length of the matched text region.
+	 */
+	int yylength();
+
+	/**
+	 * Resumes scanning until the next regular expression is matched, the
+	 * end of input is encountered or an I/O-Error occurs.
+	 *
+	 * @return the token type of the next token, one of the KoreanTokenizer
+	 *         constants, or {@link #YYEOF}
+	 */
+	int getNextToken() throws IOException;
+}
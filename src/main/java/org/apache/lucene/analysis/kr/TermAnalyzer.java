@@ -0,0 +1,422 @@
+package org.apache.lucene.analysis.kr;
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.analysis.kr.morph.AnalysisBudget;
+import org.apache.lucene.analysis.kr.morph.AnalysisBudgetExceededException;
+import org.apache.lucene.analysis.kr.morph.AnalysisCache;
+import org.apache.lucene.analysis.kr.morph.AnalysisOutput;
+import org.apache.lucene.analysis.kr.morph.CompoundEntry;
+import org.apache.lucene.analysis.kr.morph.MorphAnalyzer;
+import org.apache.lucene.analysis.kr.morph.MorphException;
+import org.apache.lucene.analysis.kr.morph.PatternConstants;
+import org.apache.lucene.analysis.kr.morph.WordEntry;
+import org.apache.lucene.analysis.kr.utils.DictionaryUtil;
+import org.apache.lucene.analysis.kr.utils.HanjaUtils;
+
+/**
+ * 토큰 하나를 유형에 따라 분석하여 색인어를 {@link TokenQueue} 에 넣는다.
+ * {@link KoreanFilter} 와 {@link KoreanMorphTokenizer} 가 같이 쓴다.
+ * <p>
+ *
+ * 색인어의 offset 은 토큰의 시작에서부터의 위치이다. 한 토큰열만 사용해야 하며,
+ * 설정과 엔진만 읽는 {@link #analysisKorean(String, TokenQueue)} 만 다른 쓰레드에서
+ * 불러도 된다.
+ */
+class TermAnalyzer {
+
+	/**
+	 * 다른 필터와 같이 쓰는 분석기
+	 */
+	private KoreanEngine engine;
+
+	private boolean bigrammable = true;
+
+	private boolean hasOrigin = true;
+
+	private boolean originCNoun = true;
+
+	private boolean exactMatch = false;
+
+	/** 한 어절의 분석에 쓸 수 있는 시간(ns), 0 이면 제한하지 않는다. */
+	private long analysisBudget = 0;
+
+	/**
+	 * 공유 캐시 앞에서 최근에 처리한 한글 어절의 색인어를 저장한다.
+	 */
+	private TermCache termCache;
+
+	private AnalysisCache cache;
+
+	private int cacheGeneration;
+
+	TermAnalyzer(KoreanEngine engine, boolean bigram, boolean has, boolean match, boolean cnoun) {
+		bigrammable = bigram;
+		hasOrigin = has;
+		exactMatch = match;
+		originCNoun = cnoun;
+		setEngine(engine);
+	}
+
+	/**
+	 * term[0, length) 를 분석하여 색인어를 queue 에 넣는다.
+	 * @param type	KoreanTokenizer 의 토큰 유형
+	 */
+	void analysis(char[] term, int length, int type, TokenQueue queue) throws MorphException {
+
+		switch(type) {
+		case KoreanTokenizer.KOREAN:
+			if(!analysisKoreanByCache(term, length, queue)) {
+				analysisKorean(new String(term,0,length), queue);
+				putCache(term, length, queue);
+			}
+			break;
+		case KoreanTokenizer.CHINESE:
+			analysisChinese(new String(term,0,length), queue);
+			break;
+		default:
+			analysisETC(term, length, type, queue);
+		}
+	}
+
+	/**
+	 * 캐시에 저장된 색인어가 있으면 큐에 넣는다.
+	 * @return 캐시에 저장된 색인어가 있었는지 여부
+	 */
+	boolean analysisKoreanByCache(char[] term, int length, TokenQueue queue) {
+
+		if(termCache==null) return false;
+
+		// 사전이 바뀌어 공유 캐시가 비워졌다면 이 캐시도 비운다.
+		if(cacheGeneration!=cache.getGeneration()) {
+			termCache.clear();
+			cacheGeneration = cache.getGeneration();
+			return false;
+		}
+
+		TermCache.Entry words = termCache.get(term, length);
+		if(words==null) return false;
+
+		queue.addAll(words);
+		return true;
+	}
+
+	/**
+	 * 캐시에 저장된 색인어가 있는지 여부
+	 */
+	boolean isCached(char[] term, int length) {
+		return termCache!=null && termCache.get(term, length)!=null;
+	}
+
+	/**
+	 * queue 에 든 색인어를 term 의 분석결과로 캐시에 저장한다.
+	 */
+	void putCache(char[] term, int length, TokenQueue queue) {
+		if(termCache!=null) termCache.put(term, length, queue.toEntry());
+	}
+
+	/**
+	 * 한글을 분석하여 색인어를 queue 에 넣는다. 미리 읽은 토큰은 다른 쓰레드에서
+	 * 분석하므로 설정 외의 상태를 바꾸어서는 안된다.
+	 * @param input
+	 * @param queue
+	 * @throws MorphException
+	 */
+	void analysisKorean(String input, TokenQueue queue) throws MorphException {
+
+		if(analysisBudget<=0) {
+			analysisMorph(input, queue);
+			return;
+		}
+
+		AnalysisBudget.start(analysisBudget);
+		try {
+			analysisMorph(input, queue);
+		} catch(AnalysisBudgetExceededException e) {
+			// 시간 안에 분석하지 못한 어절은 bigram 으로 색인한다.
+			queue.clear();
+			if(hasOrigin) queue.put(input,0);
+			addBiagramToMap(input, queue);
+			queue.removeShortKeys(2);
+		} finally {
+			AnalysisBudget.end();
+		}
+	}
+
+	private void analysisMorph(String input, TokenQueue queue) throws MorphException {
+
+		MorphAnalyzer morph = engine.getMorphAnalyzer();
+		List<AnalysisOutput> outputs = morph.analyze(input);
+		if(outputs.size()==0) return;
+
+		if(hasOrigin) queue.put(input,0);
+
+		if(outputs.get(0).getScore()>=AnalysisOutput.SCORE_COMPOUNDS)
+		{
+			extractKeyword(outputs, queue);
+		}
+		else
+		{
+			try
+			{
+				List<AnalysisOutput> list = engine.getWordSpaceAnalyzer().analyze(input);
+
+				List<AnalysisOutput> results = new ArrayList<AnalysisOutput>();
+				if(list.size()>1) {
+					for(AnalysisOutput o : list) {
+						if(hasOrigin) queue.put(o.getSource(),0);
+						results.addAll(morph.analyze(o.getSource()));
+					}
+				} else {
+					results.addAll(list);
+				}
+
+				extractKeyword(results, queue);
+
+			}
+			catch(AnalysisBudgetExceededException e)
+			{
+				throw e;
+			}
+			catch(Exception e)
+			{
+				extractKeyword(outputs, queue);
+			}
+
+		}
+
+		queue.removeShortKeys(2);
+
+	}
+
+	private void extractKeyword(List<AnalysisOutput> outputs, TokenQueue queue) throws MorphException {
+
+		for(AnalysisOutput output : outputs) {
+
+			if(output.getPos()!=PatternConstants.POS_VERB) {
+				if(originCNoun || (!originCNoun&&output.getCNounList().size()==0)) {
+					queue.put(output.getStem(),0);
+				}
+//			}else {
+//				map.put(output.getStem()+"다", new Integer(1));
+			}
+
+			if(exactMatch) continue;
+
+			if(output.getScore()>=AnalysisOutput.SCORE_COMPOUNDS) {
+
+				List<CompoundEntry> cnouns = output.getCNounList();
+				int start = 0;
+
+				for(int jj=0;jj<cnouns.size();jj++) {
+
+					CompoundEntry cnoun = cnouns.get(jj);
+
+					if(cnoun.getWord().length()>1) queue.put(cnoun.getWord(), start);
+
+					if(jj==0 && cnoun.getWord().length()==1) {
+						// 뒤 명사와 붙인 것을 키로 하지만 색인어는 한 글자 그대로이다.
+						String key = cnoun.getWord()+cnouns.get(jj+1).getWord();
+						queue.put(key, 0, key.length(), 1, start);
+					} else if(jj>1 && cnoun.getWord().length()==1) {
+						String iw = cnouns.get(jj-1).getWord()+cnoun.getWord();
+						queue.put(iw, start-cnouns.get(jj-1).getWord().length());
+					}
+
+					start += cnoun.getWord().length();
+				}
+
+			} else if(bigrammable) {
+				addBiagramToMap(output.getStem(), queue);
+			}
+
+		}
+
+	}
+
+	private void addBiagramToMap(String input, TokenQueue queue) {
+
+		int offset = 0;
+		int strlen = input.length();
+
+		while(offset<strlen-1) {
+
+			if(isAlphaNumChar(input.charAt(offset))) {
+				int length = findAlphaNumeric(input, offset);
+				queue.put(input, offset, length, length, offset);
+				offset += length;
+			} else {
+				int length = offset+2>strlen?strlen-offset:2;
+				queue.put(input, offset, length, length, offset);
+				offset++;
+			}
+
+		}
+	}
+
+	/**
+	 * offset 부터 영문자와 숫자가 이어지는 길이를 반환한다.
+	 */
+	private int findAlphaNumeric(String text, int offset) {
+		int pos = 0;
+		for(int i=offset;i<text.length();i++) {
+			if(!isAlphaNumChar(text.charAt(i))) break;
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * 한자는 2개이상의 한글 음으로 읽혀질 수 있다.
+	 * 두음법칙이 아님.
+	 * @param term
+	 * @throws MorphException
+	 */
+	private void analysisChinese(String term, TokenQueue queue) throws MorphException {
+
+		queue.add(term,0);
+		if(term.length()<2) return; // 1글자 한자는 색인어로 한글을 추출하지 않는다.
+
+		List<StringBuffer> candiList = new ArrayList<StringBuffer>();
+		candiList.add(new StringBuffer());
+
+		for(int i=0;i<term.length();i++) {
+
+			// 2개 이상의 음을 가지고 있는 경우 첫번째 음으로만 처리를 한다.
+			char ch = HanjaUtils.toHangul(term.charAt(i));
+
+			int caniSize = candiList.size();
+			for(int j=0;j<caniSize;j++) {
+				candiList.get(j).append(ch);
+			}
+		}
+
+		int maxCandidate = 5;
+		if(candiList.size()<maxCandidate) maxCandidate=candiList.size();
+
+		for(int i=0;i<maxCandidate;i++) {
+			queue.add(candiList.get(i).toString(),0);
+		}
+
+		Map<String, String> cnounMap = new HashMap<String, String>();
+
+		// 추출된 명사가 복합명사인 경우 분리한다.
+		for(int i=0;i<maxCandidate;i++) {
+			List<CompoundEntry> results = confirmCNoun(candiList.get(i).toString());
+
+			int pos = 0;
+			int offset = 0;
+		    for(CompoundEntry entry : results) {
+			   pos += entry.getWord().length();
+			   if(cnounMap.get(entry.getWord())!=null) continue;
+
+			   // 한글과 매치되는 한자를 짤라서 큐에 저장한다.
+			   queue.add(term.substring(offset,pos),offset);
+
+			   cnounMap.put(entry.getWord(), entry.getWord());
+
+			   if(entry.getWord().length()<2) continue; //  한글은 2글자 이상만 저장한다.
+
+			   // 분리된 한글을 큐에 저장한다.
+			   queue.add(entry.getWord(),offset);
+
+			   offset = pos;
+		    }
+		}
+	}
+
+	private List<CompoundEntry> confirmCNoun(String input) throws MorphException {
+
+		   WordEntry cnoun = DictionaryUtil.getCNoun(input);
+		   if(cnoun!=null && cnoun.isCompoundNoun()) {
+			  return cnoun.getCompounds();
+		   }
+
+		   return engine.getCompoundNounAnalyzer().analyze(input);
+
+	}
+
+	private void analysisETC(char[] buffer, int bufferLength, int type, TokenQueue queue) {
+
+	    if (type == KoreanTokenizer.APOSTROPHE &&      // remove 's
+	        bufferLength >= 2 &&
+	        buffer[bufferLength-2] == '\'' &&
+	        (buffer[bufferLength-1] == 's' || buffer[bufferLength-1] == 'S')) {
+	      // Strip last 2 characters off
+	      queue.add(buffer, 0, bufferLength - 2, 0);
+	    } else if (type == KoreanTokenizer.ACRONYM) {
+	      // Keeps as many leading characters as there are non-dots, without removing
+	      // the dots: "U.S.A." gives "U.S". That is what KoreanFilter always indexed,
+	      // kept on purpose so that existing indexes still match.
+	      int upto = 0;
+	      for(int i=0;i<bufferLength;i++) {
+	        if (buffer[i] != '.')
+	          upto++;
+	      }
+	      queue.add(buffer, 0, upto, 0);
+	    } else {
+	    	queue.add(buffer, 0, bufferLength, 0);
+	    }
+
+	}
+
+	private boolean isAlphaNumChar(int c) {
+		if((c>=48&&c<=57)||(c>=65&&c<=122)) return true;
+		return false;
+	}
+
+	void setBigrammable(boolean bigram) {
+		bigrammable = bigram;
+		if(termCache!=null) termCache.clear();
+	}
+
+	void setOriginCNoun(boolean cnoun) {
+		originCNoun = cnoun;
+		if(termCache!=null) termCache.clear();
+	}
+
+	void setHasOrigin(boolean has) {
+		hasOrigin = has;
+		if(termCache!=null) termCache.clear();
+	}
+
+	void setExactMatch(boolean match) {
+		this.exactMatch = match;
+		if(termCache!=null) termCache.clear();
+	}
+
+	void setAnalysisBudget(long nanos) {
+		analysisBudget = nanos;
+	}
+
+	void setEngine(KoreanEngine engine) {
+		this.engine = engine;
+		this.cache = engine.getCache();
+		if(cache==null) {
+			termCache = null;
+		} else {
+			termCache = new TermCache(TermCache.DEFAULT_SIZE);
+			cacheGeneration = cache.getGeneration();
+		}
+	}
+}
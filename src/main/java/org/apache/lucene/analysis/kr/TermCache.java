@@ -0,0 +1,112 @@
+package org.apache.lucene.analysis.kr;
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * A small direct-mapped cache of the index words extracted from a term,
+ * owned by a single {@link KoreanFilter}.
+ * <p>
+ *
+ * It is looked up with the term buffer itself, so a hit costs a hash and a
+ * compare and does not create a String. A term simply replaces whatever
+ * was in its slot. The cache is not thread-safe, a filter is only used by
+ * one thread at a time.
+ */
+class TermCache {
+
+	/** Default number of slots, must be a power of two */
+	static final int DEFAULT_SIZE = 1024;
+
+	private final int mask;
+
+	private final int[] hashes;
+
+	private final char[][] terms;
+
+	private final Entry[] entries;
+
+	TermCache(int size) {
+		mask = size - 1;
+		hashes = new int[size];
+		terms = new char[size][];
+		entries = new Entry[size];
+	}
+
+	/**
+	 * Returns the index words of the term, or null if they are not cached.
+	 */
+	Entry get(char[] buffer, int length) {
+		int hash = hash(buffer, length);
+		int slot = hash & mask;
+
+		char[] term = terms[slot];
+		if (term == null || hashes[slot] != hash || term.length != length)
+			return null;
+
+		for (int i = 0; i < length; i++) {
+			if (term[i] != buffer[i])
+				return null;
+		}
+
+		return entries[slot];
+	}
+
+	void put(char[] buffer, int length, Entry value) {
+		int hash = hash(buffer, length);
+		int slot = hash & mask;
+
+		char[] term = new char[length];
+		System.arraycopy(buffer, 0, term, 0, length);
+
+		hashes[slot] = hash;
+		terms[slot] = term;
+		entries[slot] = value;
+	}
+
+	void clear() {
+		for (int i = 0; i < terms.length; i++) {
+			terms[i] = null;
+			entries[i] = null;
+		}
+	}
+
+	/**
+	 * The index words of a term, their characters one after the other and
+	 * a length and an offset per word.
+	 */
+	static class Entry {
+
+		final char[] chars;
+
+		final int[] layout;
+
+		Entry(char[] chars, int[] layout) {
+			this.chars = chars;
+			this.layout = layout;
+		}
+	}
+
+	private static int hash(char[] buffer, int length) {
+		int h = 0;
+		for (int i = 0; i < length; i++) {
+			h = 31 * h + buffer[i];
+		}
+		h ^= (h >>> 20) ^ (h >>> 12);
+		return h ^ (h >>> 7) ^ (h >>> 4);
+	}
+}
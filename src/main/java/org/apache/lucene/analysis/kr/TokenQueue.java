@@ -0,0 +1,279 @@
+package org.apache.lucene.analysis.kr;
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.apache.lucene.util.ArrayUtil;
+
+/**
+ * The index words a {@link KoreanFilter} still has to emit for the current
+ * term.
+ * <p>
+ *
+ * The characters of all the words are kept in one slab and each word is a
+ * start, a length and an offset in parallel int arrays. The arrays only
+ * grow, so once they are large enough for the longest terms of a document
+ * filling and draining the queue does not allocate.
+ * <p>
+ *
+ * Words added with {@link #put(CharSequence, int, int, int, int)} are
+ * deduplicated by a key through an open addressing table: putting a key
+ * again keeps its place in the queue but takes the new word and offset,
+ * like a LinkedHashMap would. The word is always a prefix of its key.
+ */
+class TokenQueue {
+
+	private char[] chars = new char[64];
+
+	private int charsUsed;
+
+	private int[] starts = new int[8];
+
+	private int[] keyLengths = new int[8];
+
+	private int[] wordLengths = new int[8];
+
+	private int[] offsets = new int[8];
+
+	/** Hash of the key of each entry, and its slot in the table */
+	private int[] hashes = new int[8];
+
+	private int[] entrySlots = new int[8];
+
+	/** Entry index + 1 per slot, 0 for an empty slot */
+	private int[] table = new int[16];
+
+	private int size;
+
+	private int head;
+
+	void clear() {
+		for (int i = 0; i < size; i++) {
+			if (entrySlots[i] >= 0)
+				table[entrySlots[i]] = 0;
+		}
+		size = 0;
+		head = 0;
+		charsUsed = 0;
+	}
+
+	boolean isEmpty() {
+		return head >= size;
+	}
+
+	/**
+	 * Appends a word without deduplicating it.
+	 */
+	void add(char[] buffer, int offset, int length, int wordOffset) {
+		int i = append(length);
+		System.arraycopy(buffer, offset, chars, starts[i], length);
+		keyLengths[i] = length;
+		wordLengths[i] = length;
+		offsets[i] = wordOffset;
+		entrySlots[i] = -1;
+	}
+
+	void add(String word, int wordOffset) {
+		int length = word.length();
+		int i = append(length);
+		word.getChars(0, length, chars, starts[i]);
+		keyLengths[i] = length;
+		wordLengths[i] = length;
+		offsets[i] = wordOffset;
+		entrySlots[i] = -1;
+	}
+
+	/**
+	 * Appends the words of a {@link TermCache} entry.
+	 */
+	void addAll(TermCache.Entry entry) {
+		char[] words = entry.chars;
+		int[] layout = entry.layout;
+		int start = 0;
+		for (int j = 0; j < layout.length; j += 2) {
+			add(words, start, layout[j], layout[j + 1]);
+			start += layout[j];
+		}
+	}
+
+	void put(String word, int wordOffset) {
+		put(word, 0, word.length(), word.length(), wordOffset);
+	}
+
+	/**
+	 * Puts the key s[start, start+length) whose word is its first wordLength
+	 * characters.
+	 */
+	void put(CharSequence s, int start, int length, int wordLength, int wordOffset) {
+
+		int hash = 0;
+		for (int j = 0; j < length; j++) {
+			hash = 31 * hash + s.charAt(start + j);
+		}
+
+		int mask = table.length - 1;
+		int slot = mix(hash) & mask;
+		for (int e; (e = table[slot]) != 0; slot = (slot + 1) & mask) {
+			int i = e - 1;
+			if (hashes[i] == hash && equals(i, s, start, length)) {
+				wordLengths[i] = wordLength;
+				offsets[i] = wordOffset;
+				return;
+			}
+		}
+
+		int i = append(length);
+		for (int j = 0; j < length; j++) {
+			chars[starts[i] + j] = s.charAt(start + j);
+		}
+		keyLengths[i] = length;
+		wordLengths[i] = wordLength;
+		offsets[i] = wordOffset;
+		hashes[i] = hash;
+		entrySlots[i] = slot;
+		table[slot] = i + 1;
+
+		if (size * 2 > table.length)
+			rehash();
+	}
+
+	/**
+	 * Drops the entries whose key is shorter than minLength. No more words
+	 * may be put until the queue is cleared.
+	 */
+	void removeShortKeys(int minLength) {
+		for (int i = 0; i < size; i++) {
+			if (entrySlots[i] >= 0)
+				table[entrySlots[i]] = 0;
+		}
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			if (keyLengths[i] < minLength)
+				continue;
+			starts[kept] = starts[i];
+			keyLengths[kept] = keyLengths[i];
+			wordLengths[kept] = wordLengths[i];
+			offsets[kept] = offsets[i];
+			entrySlots[kept] = -1;
+			kept++;
+		}
+		size = kept;
+		if (head > size)
+			head = size;
+	}
+
+	/**
+	 * Removes the first pending word and returns its index, valid until the
+	 * queue is cleared.
+	 */
+	int next() {
+		return head++;
+	}
+
+	char[] chars() {
+		return chars;
+	}
+
+	int start(int i) {
+		return starts[i];
+	}
+
+	int length(int i) {
+		return wordLengths[i];
+	}
+
+	int offset(int i) {
+		return offsets[i];
+	}
+
+	/**
+	 * Returns the pending words as a {@link TermCache} entry.
+	 */
+	TermCache.Entry toEntry() {
+		int total = 0;
+		for (int i = head; i < size; i++) {
+			total += wordLengths[i];
+		}
+		char[] words = new char[total];
+		int[] layout = new int[(size - head) * 2];
+		int pos = 0;
+		for (int i = head, j = 0; i < size; i++, j += 2) {
+			System.arraycopy(chars, starts[i], words, pos, wordLengths[i]);
+			pos += wordLengths[i];
+			layout[j] = wordLengths[i];
+			layout[j + 1] = offsets[i];
+		}
+		return new TermCache.Entry(words, layout);
+	}
+
+	private boolean equals(int i, CharSequence s, int start, int length) {
+		if (keyLengths[i] != length)
+			return false;
+		int base = starts[i];
+		for (int j = 0; j < length; j++) {
+			if (chars[base + j] != s.charAt(start + j))
+				return false;
+		}
+		return true;
+	}
+
+	private int append(int length) {
+		if (size == starts.length) {
+			int capacity = ArrayUtil.oversize(size + 1, 4);
+			starts = grow(starts, capacity);
+			keyLengths = grow(keyLengths, capacity);
+			wordLengths = grow(wordLengths, capacity);
+			offsets = grow(offsets, capacity);
+			hashes = grow(hashes, capacity);
+			entrySlots = grow(entrySlots, capacity);
+		}
+		if (charsUsed + length > chars.length)
+			chars = ArrayUtil.grow(chars, charsUsed + length);
+
+		int i = size++;
+		starts[i] = charsUsed;
+		charsUsed += length;
+		return i;
+	}
+
+	private void rehash() {
+		int[] newTable = new int[table.length * 2];
+		int mask = newTable.length - 1;
+		for (int i = 0; i < size; i++) {
+			if (entrySlots[i] < 0)
+				continue;
+			int slot = mix(hashes[i]) & mask;
+			while (newTable[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			newTable[slot] = i + 1;
+			entrySlots[i] = slot;
+		}
+		table = newTable;
+	}
+
+	private static int[] grow(int[] array, int capacity) {
+		int[] copy = new int[capacity];
+		System.arraycopy(array, 0, copy, 0, array.length);
+		return copy;
+	}
+
+	private static int mix(int h) {
+		h ^= (h >>> 20) ^ (h >>> 12);
+		return h ^ (h >>> 7) ^ (h >>> 4);
+	}
+}
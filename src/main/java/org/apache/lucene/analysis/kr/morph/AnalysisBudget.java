@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr.morph;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The time a thread may spend analyzing the current token.
+ * <p>
+ *
+ * The caller starts the budget before it analyzes a token and ends it
+ * afterwards. Meanwhile the loops of the analyzers that can blow up on
+ * pathological input, long runs of Hangul without spaces or repeated
+ * syllables, call {@link #check()}, which throws
+ * {@link AnalysisBudgetExceededException} once the budget is spent. The
+ * analyzers themselves stay free of state, the deadline is kept per
+ * thread.
+ */
+public final class AnalysisBudget {
+
+	private static final ThreadLocal<long[]> DEADLINE = new ThreadLocal<long[]>() {
+		protected long[] initialValue() {
+			return new long[1];
+		}
+	};
+
+	private static final AtomicLong exceeded = new AtomicLong();
+
+	private AnalysisBudget() {
+	}
+
+	/**
+	 * Gives the current thread nanos nanoseconds from now to analyze the
+	 * token. 0 or less means no limit.
+	 */
+	public static void start(long nanos) {
+		long[] deadline = DEADLINE.get();
+		if (nanos <= 0) {
+			deadline[0] = 0;
+			return;
+		}
+		long d = System.nanoTime() + nanos;
+		deadline[0] = d == 0 ? 1 : d;
+	}
+
+	/**
+	 * Removes the limit of the current thread.
+	 */
+	public static void end() {
+		DEADLINE.get()[0] = 0;
+	}
+
+	/**
+	 * @throws AnalysisBudgetExceededException
+	 *             if the budget of the current thread is spent
+	 */
+	public static void check() throws AnalysisBudgetExceededException {
+		long deadline = DEADLINE.get()[0];
+		if (deadline != 0 && System.nanoTime() - deadline > 0) {
+			exceeded.incrementAndGet();
+			throw new AnalysisBudgetExceededException();
+		}
+	}
+
+	/**
+	 * Returns how many analyses ran out of budget since the JVM started.
+	 */
+	public static long getExceededCount() {
+		return exceeded.get();
+	}
+}
@@ -0,0 +1,249 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr.morph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of {@link MorphAnalyzer#analyze(String)} results, keyed
+ * by the eojeol, shared by all the analyzers of the JVM.
+ * <p>
+ *
+ * Analyzers that analyze the same eojeol differently need caches of their
+ * own. These are named and kept by {@link #getInstance(String)} as well, so
+ * that a dictionary reload, a new size or a snapshot reaches all of them.
+ * <p>
+ *
+ * The entries are split over a fixed number of segments by the hash of the
+ * eojeol. Each segment is an LRU map guarded by its own lock, so threads
+ * analyzing different words rarely wait for each other.
+ * <p>
+ *
+ * The cached lists are unmodifiable and their {@link AnalysisOutput}s are
+ * shared between threads, so they must not be modified.
+ */
+public class AnalysisCache {
+
+	/** Default maximum number of cached eojeols */
+	public static final int DEFAULT_SIZE = 10000;
+
+	/** Name of the cache returned by {@link #getInstance()} */
+	public static final String DEFAULT = "default";
+
+	private static final int SEGMENTS = 16;
+
+	private static final Map<String, AnalysisCache> instances = new LinkedHashMap<String, AnalysisCache>();
+
+	/** Maximum size of the shared caches, also the ones created later */
+	private static int sharedSize = DEFAULT_SIZE;
+
+	private final Segment[] segments;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Incremented by {@link #clear()}, so that caches built on top of this one
+	 * can tell that their entries are stale.
+	 */
+	private volatile int generation;
+
+	public AnalysisCache(int maxSize) {
+		segments = new Segment[SEGMENTS];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment();
+		}
+		setMaxSize(maxSize);
+	}
+
+	/**
+	 * Returns the cache shared by the whole JVM.
+	 */
+	public static AnalysisCache getInstance() {
+		return getInstance(DEFAULT);
+	}
+
+	/**
+	 * Returns the cache of the given name shared by the whole JVM, creating it
+	 * with the size set by {@link #setSharedMaxSize(int)}.
+	 */
+	public static synchronized AnalysisCache getInstance(String name) {
+		AnalysisCache cache = instances.get(name);
+		if (cache == null) {
+			cache = new AnalysisCache(sharedSize);
+			instances.put(name, cache);
+		}
+		return cache;
+	}
+
+	/**
+	 * Returns the shared caches created so far, by name.
+	 */
+	public static synchronized Map<String, AnalysisCache> getInstances() {
+		return new LinkedHashMap<String, AnalysisCache>(instances);
+	}
+
+	/**
+	 * Changes the maximum size of all the shared caches, including the ones
+	 * not created yet.
+	 */
+	public static synchronized void setSharedMaxSize(int maxSize) {
+		sharedSize = maxSize;
+		for (AnalysisCache cache : instances.values()) {
+			cache.setMaxSize(maxSize);
+		}
+	}
+
+	/**
+	 * Clears all the shared caches.
+	 */
+	public static synchronized void clearAll() {
+		for (AnalysisCache cache : instances.values()) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * Changes the maximum number of cached eojeols. The extra entries are
+	 * evicted the next time a segment grows.
+	 */
+	public void setMaxSize(int maxSize) {
+		int segmentSize = Math.max(1, (maxSize + SEGMENTS - 1) / SEGMENTS);
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.maxSize = segmentSize;
+			}
+		}
+	}
+
+	public int getMaxSize() {
+		return segments[0].maxSize * SEGMENTS;
+	}
+
+	/**
+	 * Returns the cached analysis of the eojeol, or null.
+	 */
+	public List<AnalysisOutput> get(String eojeol) {
+		Segment segment = segmentFor(eojeol);
+		List<AnalysisOutput> outputs;
+		synchronized (segment) {
+			outputs = segment.get(eojeol);
+		}
+		if (outputs == null)
+			misses.incrementAndGet();
+		else
+			hits.incrementAndGet();
+		return outputs;
+	}
+
+	/**
+	 * Caches the analysis of the eojeol and returns the cached list.
+	 */
+	public List<AnalysisOutput> put(String eojeol, List<AnalysisOutput> outputs) {
+		List<AnalysisOutput> cached = Collections.unmodifiableList(outputs);
+		Segment segment = segmentFor(eojeol);
+		synchronized (segment) {
+			segment.put(eojeol, cached);
+		}
+		return cached;
+	}
+
+	/**
+	 * Removes all the entries, for instance after the dictionary changed.
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+		generation++;
+	}
+
+	public int getGeneration() {
+		return generation;
+	}
+
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Returns about the given number of the most recently used entries, the
+	 * same share from every segment. Within a segment they are ordered from
+	 * the least to the most recently used, so putting them back in that order
+	 * keeps the hottest ones when the cache is smaller.
+	 */
+	List<Map.Entry<String, List<AnalysisOutput>>> getHottest(int count) {
+		int perSegment = (count + SEGMENTS - 1) / SEGMENTS;
+		List<Map.Entry<String, List<AnalysisOutput>>> hottest =
+				new ArrayList<Map.Entry<String, List<AnalysisOutput>>>();
+		for (Segment segment : segments) {
+			List<Map.Entry<String, List<AnalysisOutput>>> entries;
+			synchronized (segment) {
+				entries = new ArrayList<Map.Entry<String, List<AnalysisOutput>>>(
+						segment.entrySet());
+			}
+			int from = Math.max(0, entries.size() - perSegment);
+			hottest.addAll(entries.subList(from, entries.size()));
+		}
+		return hottest;
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	private Segment segmentFor(String eojeol) {
+		int h = eojeol.hashCode();
+		h ^= (h >>> 16);
+		return segments[h & (SEGMENTS - 1)];
+	}
+
+	private static class Segment extends LinkedHashMap<String, List<AnalysisOutput>> {
+
+		private static final long serialVersionUID = 635290796693121263L;
+
+		private volatile int maxSize;
+
+		Segment() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<String, List<AnalysisOutput>> eldest) {
+			return size() > maxSize;
+		}
+	}
+}
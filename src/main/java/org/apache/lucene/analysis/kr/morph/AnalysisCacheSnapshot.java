@@ -0,0 +1,322 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr.morph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.analysis.kr.utils.BinaryDictionary;
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.store.DataInput;
+import org.apache.lucene.store.DataOutput;
+import org.apache.lucene.store.InputStreamDataInput;
+import org.apache.lucene.store.OutputStreamDataOutput;
+
+/**
+ * Saves the hottest entries of an {@link AnalysisCache} to a file and loads
+ * them back, so that a restarted node does not begin with a cold cache.
+ * <p>
+ *
+ * The snapshot starts with a codec header and the checksum of the
+ * dictionaries the analyses were made with. A snapshot taken with other
+ * dictionaries is ignored, its analyses could be wrong. The entries follow
+ * in one section per cache, named as in {@link AnalysisCache#getInstance(String)}.
+ */
+public class AnalysisCacheSnapshot {
+
+	static final String CODEC = "KoreanAnalysisCache";
+
+	static final int VERSION_START = 0;
+
+	static final int VERSION_CURRENT = VERSION_START;
+
+	/**
+	 * Writes at most maxEntries of the most recently used entries of the
+	 * cache to the file and returns how many were written. The file is
+	 * replaced only once the snapshot is complete.
+	 */
+	public static int save(AnalysisCache cache, File file, int maxEntries)
+			throws MorphException {
+		return save(Collections.singletonMap(AnalysisCache.DEFAULT, cache), file, maxEntries);
+	}
+
+	/**
+	 * Like {@link #save(AnalysisCache, File, int)}, for all the shared caches,
+	 * at most maxEntries of each.
+	 */
+	public static int saveAll(File file, int maxEntries) throws MorphException {
+		return save(AnalysisCache.getInstances(), file, maxEntries);
+	}
+
+	/**
+	 * Puts the entries saved from the default cache into the cache and returns
+	 * how many were loaded. Returns 0 if the file does not exist or was taken
+	 * with other dictionaries.
+	 */
+	public static int load(AnalysisCache cache, File file) throws MorphException {
+		return load(file, cache);
+	}
+
+	/**
+	 * Puts the entries of every cache in the snapshot into the shared cache
+	 * of the same name and returns how many were loaded.
+	 */
+	public static int loadAll(File file) throws MorphException {
+		return load(file, null);
+	}
+
+	private static int save(Map<String, AnalysisCache> caches, File file,
+			int maxEntries) throws MorphException {
+
+		Map<String, List<Map.Entry<String, List<AnalysisOutput>>>> sections =
+				new LinkedHashMap<String, List<Map.Entry<String, List<AnalysisOutput>>>>();
+		int size = 0;
+		for (Map.Entry<String, AnalysisCache> e : caches.entrySet()) {
+			List<Map.Entry<String, List<AnalysisOutput>>> entries = e.getValue().getHottest(maxEntries);
+			sections.put(e.getKey(), entries);
+			size += entries.size();
+		}
+
+		File tmp = new File(file.getPath() + ".tmp");
+		if (file.getParentFile() != null)
+			file.getParentFile().mkdirs();
+
+		try {
+			OutputStream os = new BufferedOutputStream(new FileOutputStream(tmp));
+			try {
+				write(new OutputStreamDataOutput(os), sections, dictionaryChecksum());
+			} finally {
+				os.close();
+			}
+			if (file.exists() && !file.delete())
+				throw new IOException("Cannot delete " + file);
+			if (!tmp.renameTo(file))
+				throw new IOException("Cannot rename " + tmp + " to " + file);
+		} catch (IOException e) {
+			tmp.delete();
+			throw new MorphException("Failure while saving analysis cache to "
+					+ file, e);
+		}
+
+		return size;
+	}
+
+	/**
+	 * @param cache	the cache to load the default section into, or null to
+	 * 		load every section into the shared cache of its name
+	 */
+	private static int load(File file, AnalysisCache cache) throws MorphException {
+
+		if (!file.exists())
+			return 0;
+
+		try {
+			InputStream is = new BufferedInputStream(new FileInputStream(file));
+			try {
+				return read(new InputStreamDataInput(is), cache, dictionaryChecksum());
+			} finally {
+				is.close();
+			}
+		} catch (IOException e) {
+			throw new MorphException("Failure while loading analysis cache from "
+					+ file, e);
+		}
+	}
+
+	static void write(DataOutput out,
+			Map<String, List<Map.Entry<String, List<AnalysisOutput>>>> sections,
+			long checksum) throws IOException {
+
+		CodecUtil.writeHeader(out, CODEC, VERSION_CURRENT);
+		out.writeLong(checksum);
+
+		out.writeVInt(sections.size());
+		for (Map.Entry<String, List<Map.Entry<String, List<AnalysisOutput>>>> section : sections.entrySet()) {
+			out.writeString(section.getKey());
+			out.writeVInt(section.getValue().size());
+			for (Map.Entry<String, List<AnalysisOutput>> e : section.getValue()) {
+				out.writeString(e.getKey());
+				out.writeVInt(e.getValue().size());
+				for (AnalysisOutput o : e.getValue()) {
+					writeOutput(out, o);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @see #load(File, AnalysisCache)
+	 */
+	static int read(DataInput in, AnalysisCache cache, long checksum)
+			throws IOException {
+
+		CodecUtil.checkHeader(in, CODEC, VERSION_START, VERSION_CURRENT);
+		if (in.readLong() != checksum)
+			return 0;
+
+		int sections = in.readVInt();
+		int loaded = 0;
+		for (int s = 0; s < sections; s++) {
+			String name = in.readString();
+			AnalysisCache target;
+			if (cache == null)
+				target = AnalysisCache.getInstance(name);
+			else
+				target = AnalysisCache.DEFAULT.equals(name) ? cache : null;
+
+			int size = in.readVInt();
+			for (int i = 0; i < size; i++) {
+				String eojeol = in.readString();
+				int count = in.readVInt();
+				List<AnalysisOutput> outputs = new ArrayList<AnalysisOutput>(count);
+				for (int j = 0; j < count; j++) {
+					outputs.add(readOutput(in));
+				}
+				if (target != null)
+					target.put(eojeol, outputs);
+			}
+			if (target != null)
+				loaded += size;
+		}
+		return loaded;
+	}
+
+	private static void writeOutput(DataOutput out, AnalysisOutput o)
+			throws IOException {
+
+		writeOptional(out, o.getSource());
+		out.writeVInt(o.getScore());
+		out.writeVInt(o.getPatn());
+		writeChar(out, o.getType());
+		writeOptional(out, o.getStem());
+		writeChar(out, o.getPos());
+		writeChar(out, o.getPos2());
+		writeChar(out, o.getDinf());
+		writeOptional(out, o.getNsfx());
+		writeOptional(out, o.getJosa());
+		writeList(out, o.getJlist());
+		writeOptional(out, o.getEomi());
+		writeList(out, o.getElist());
+		writeOptional(out, o.getPomi());
+		writeOptional(out, o.getXverb());
+		writeOptional(out, o.getVsfx());
+		writeChar(out, o.getVtype());
+
+		List<CompoundEntry> cnouns = o.getCNounList();
+		out.writeVInt(cnouns.size());
+		for (CompoundEntry ce : cnouns) {
+			out.writeString(ce.getWord());
+			out.writeInt(ce.getOffset());
+			out.writeByte((byte) (ce.isExist() ? 1 : 0));
+			writeChar(out, ce.getPos());
+		}
+	}
+
+	private static AnalysisOutput readOutput(DataInput in) throws IOException {
+
+		AnalysisOutput o = new AnalysisOutput();
+		o.setSource(readOptional(in));
+		o.setScore(in.readVInt());
+		o.setPatn(in.readVInt());
+		o.setType(readChar(in));
+		o.setStem(readOptional(in));
+		o.setPos(readChar(in));
+		o.setPos2(readChar(in));
+		o.setDinf(readChar(in));
+		o.setNsfx(readOptional(in));
+		o.setJosa(readOptional(in));
+		for (String s : readList(in)) {
+			o.addJlist(s);
+		}
+		o.setEomi(readOptional(in));
+		for (String s : readList(in)) {
+			o.addElist(s);
+		}
+		o.setPomi(readOptional(in));
+		o.setXverb(readOptional(in));
+		o.setVsfx(readOptional(in));
+		o.setVtype(readChar(in));
+
+		int size = in.readVInt();
+		for (int i = 0; i < size; i++) {
+			String word = in.readString();
+			int offset = in.readInt();
+			boolean exist = in.readByte() == 1;
+			o.addCNoun(new CompoundEntry(word, offset, exist, readChar(in)));
+		}
+		return o;
+	}
+
+	/**
+	 * The checksum of the dictionaries in use, the one stored in the image
+	 * or else the one of the text dictionaries.
+	 */
+	private static long dictionaryChecksum() throws MorphException {
+		BinaryDictionary image = BinaryDictionary.getInstance();
+		return image != null ? image.getChecksum() : BinaryDictionary.computeChecksum();
+	}
+
+	private static void writeOptional(DataOutput out, String s)
+			throws IOException {
+		if (s == null) {
+			out.writeByte((byte) 0);
+		} else {
+			out.writeByte((byte) 1);
+			out.writeString(s);
+		}
+	}
+
+	private static String readOptional(DataInput in) throws IOException {
+		return in.readByte() == 0 ? null : in.readString();
+	}
+
+	private static void writeList(DataOutput out, List<String> list)
+			throws IOException {
+		out.writeVInt(list.size());
+		for (String s : list) {
+			writeOptional(out, s);
+		}
+	}
+
+	private static List<String> readList(DataInput in) throws IOException {
+		int size = in.readVInt();
+		List<String> list = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(readOptional(in));
+		}
+		return list;
+	}
+
+	private static void writeChar(DataOutput out, char c) throws IOException {
+		out.writeVInt(c);
+	}
+
+	private static char readChar(DataInput in) throws IOException {
+		return (char) in.readVInt();
+	}
+}
@@ -28,6 +28,8 @@ import org.apache.lucene.analysis.kr.utils.DictionaryUtil;
 
 /**
  * 복합명사를 분해한다.
+ * 분석 중의 상태는 호출마다 따로 만들므로 설정을 바꾸지 않는 한 여러 쓰레드가
+ * 하나의 객체를 같이 쓸 수 있다.
  * @author smlee
  *
  */
@@ -37,6 +39,24 @@ public class CompoundNounAnalyzer {
 	
 	private boolean exactMach  = true;
 	
+	/**
+	 * 7글자 이상을 analyzeByLattice 로 분해할지 여부
+	 */
+	private boolean dynamic = false;
+	
+	/**
+	 * analyzeByLattice 에서 사전에 없는 단어로 볼 수 있는 최대 길이
+	 */
+	private static final int MAX_UNKNOWN_LENGTH = 6;
+	
+	/**
+	 * evaluation() 은 한 글자 단어가 3개를 넘으면 모두 같은 점수이다.
+	 */
+	private static final int MAX_ONE = 3;
+	
+	/** analyzeByLattice 가 찾는 분해의 최대 단어 수 */
+	private static final int MAX_WORDS = 10;
+	
 	private static Pattern NUM_PATTERN;
 	static {
 		NUM_PATTERN = Pattern.compile("^[0-9\\.,]+$");
@@ -47,70 +67,110 @@ public class CompoundNounAnalyzer {
 		ALPHANUM_PATTERN = Pattern.compile("^[0-9A-Za-z\\.,]+$");
 	}
 		
+	public CompoundNounAnalyzer() {
+	}
+	
+	/**
+	 * @param exactMach	사전에 있는 복합명사만 분해할지 여부
+	 */
+	public CompoundNounAnalyzer(boolean exactMach) {
+		this.exactMach = exactMach;
+	}
+	
+	/**
+	 * @param exactMach	사전에 있는 복합명사만 분해할지 여부
+	 * @param dynamic	7글자 이상의 복합명사를 동적계획법으로 분해할지 여부, 20글자가 넘어도 10 단어까지 분해한다.
+	 */
+	public CompoundNounAnalyzer(boolean exactMach, boolean dynamic) {
+		this.exactMach = exactMach;
+		this.dynamic = dynamic;
+	}
+	
 	public boolean isExactMach() {
 		return exactMach;
 	}
 
+	/**
+	 * @deprecated 공유하는 객체의 설정이 바뀌므로 {@link #CompoundNounAnalyzer(boolean)} 을 사용한다.
+	 */
+	@Deprecated
 	public void setExactMach(boolean exactMach) {
 		this.exactMach = exactMach;
 	}
 
-	public List analyze(String input) throws MorphException {
+	public List<CompoundEntry> analyze(String input) throws MorphException {
 		
 		return analyze(input,true);
 		
 	}
 	
-	public List analyze(String input, boolean isFirst) throws MorphException {
+	public List<CompoundEntry> analyze(String input, boolean isFirst) throws MorphException {
+		
+		return analyze(input, isFirst, new WordLattice(input), 0);
+		
+	}
+	
+	/**
+	 * @param input		lattice 를 만든 문자열의 offset 부터의 부분 문자열
+	 * @param lattice	단어를 찾을 때 사용한다.
+	 * @param offset	lattice 에서 input 의 시작위치
+	 */
+	private List<CompoundEntry> analyze(String input, boolean isFirst, WordLattice lattice, int offset) throws MorphException {
 		
 		int len = input.length();
-		if(len<3) return new ArrayList();	
+		if(len<3) return new ArrayList<CompoundEntry>();	
+		
+		// analyzeLongText 는 재귀로 여기를 다시 부르므로 긴 입력에서는 여기서 시간을 확인한다.
+		AnalysisBudget.check();
 		
-		List outputs = new ArrayList();
+		List<CompoundEntry> outputs = new ArrayList<CompoundEntry>();
 		
 		switch(len) {
 			case  3 :
-				analyze3Word(input,outputs,isFirst);
+				analyze3Word(input,outputs,isFirst,lattice,offset);
 				break;
 			case  4 :
-				analyze4Word(input,outputs,isFirst);
+				analyze4Word(input,outputs,isFirst,lattice,offset);
 				break;	
 			case  5 :
-				analyze5Word(input,outputs,isFirst);
+				analyze5Word(input,outputs,isFirst,lattice,offset);
 				break;
 			case  6 :
-				analyze6Word(input,outputs,isFirst);
+				analyze6Word(input,outputs,isFirst,lattice,offset);
 				break;	
 			default :
-				analyzeLongText(input,outputs,isFirst);				
+				if(dynamic)
+					analyzeByLattice(input,outputs,isFirst,lattice,offset);
+				else
+					analyzeLongText(input,outputs,isFirst,lattice,offset);				
 		}
 
 		return outputs;
 		
 	}
 		
-	private void analyze3Word(String input,List outputs, boolean isFirst) throws MorphException {
+	private void analyze3Word(String input,List outputs, boolean isFirst, WordLattice lattice, int offset) throws MorphException {
 
 		int[] units1 = {2,1};
-		CompoundEntry[] entries1 = analysisBySplited(units1,input,isFirst);
+		CompoundEntry[] entries1 = analysisBySplited(units1,input,isFirst,lattice,offset);
 		if(entries1!=null && entries1[0].isExist()&&entries1[1].isExist()) {
 			outputs.addAll(Arrays.asList(entries1));
 			return;		
 		}
 
 		int[] units2 = {1,2};
-		CompoundEntry[] entries2 = analysisBySplited(units2,input,isFirst);
+		CompoundEntry[] entries2 = analysisBySplited(units2,input,isFirst,lattice,offset);
 		if(entries2!=null && entries2[0].isExist()&&entries2[1].isExist()) {
 			outputs.addAll(Arrays.asList(entries2));
 		}
 					
 	}	
 	
-	private void analyze4Word(String input,List outputs, boolean isFirst) throws MorphException {
+	private void analyze4Word(String input,List outputs, boolean isFirst, WordLattice lattice, int offset) throws MorphException {
 	
 		if(!isFirst) {
 			int[] units0 = {1,3};
-			CompoundEntry[] entries0 = analysisBySplited(units0,input,isFirst);
+			CompoundEntry[] entries0 = analysisBySplited(units0,input,isFirst,lattice,offset);
 			if(entries0!=null && entries0[0].isExist()&&entries0[1].isExist()) {
 				outputs.addAll(Arrays.asList(entries0));
 				return;		
@@ -118,14 +178,14 @@ public class CompoundNounAnalyzer {
 		}
 				
 		int[] units2 = {1,2,1};
-		CompoundEntry[] entries2 = analysisBySplited(units2,input,isFirst);	
+		CompoundEntry[] entries2 = analysisBySplited(units2,input,isFirst,lattice,offset);	
 		if(entries2!=null && entries2[0].isExist()&&entries2[1].isExist()&&entries2[2].isExist()) {
 			outputs.addAll(Arrays.asList(entries2));	
 			return;
 		}
 		
 		int[] units1 = {2,2};
-		CompoundEntry[] entries1 = analysisBySplited(units1,input,isFirst);
+		CompoundEntry[] entries1 = analysisBySplited(units1,input,isFirst,lattice,offset);
 		if(entries1!=null && entries1[0].isExist()&&entries1[1].isExist()) {
 			outputs.addAll(Arrays.asList(entries1));		
 			return;		
@@ -136,38 +196,38 @@ public class CompoundNounAnalyzer {
 		}
 	}
 	
-	private void analyze5Word(String input,List outputs, boolean isFirst) throws MorphException {
+	private void analyze5Word(String input,List outputs, boolean isFirst, WordLattice lattice, int offset) throws MorphException {
 			
 		int[] units1 = {2,3};
-		CompoundEntry[] entries1 = analysisBySplited(units1,input,isFirst);
+		CompoundEntry[] entries1 = analysisBySplited(units1,input,isFirst,lattice,offset);
 		if(entries1!=null && entries1[0].isExist()&&entries1[1].isExist()) {
 			outputs.addAll(Arrays.asList(entries1));
 			return;		
 		}
 		
 		int[] units2 = {3,2};
-		CompoundEntry[] entries2 = analysisBySplited(units2,input,isFirst);
+		CompoundEntry[] entries2 = analysisBySplited(units2,input,isFirst,lattice,offset);
 		if(entries2!=null && entries2[0].isExist()&&entries2[1].isExist()) {
 			outputs.addAll(Arrays.asList(entries2));
 			return;		
 		}
 		
 		int[] units_1 = {4,1};
-		CompoundEntry[] entries_1 = analysisBySplited(units_1,input,isFirst);
+		CompoundEntry[] entries_1 = analysisBySplited(units_1,input,isFirst,lattice,offset);
 		if(entries_1!=null && entries_1[0].isExist()&&entries_1[1].isExist()) {			
 			outputs.addAll(Arrays.asList(entries_1));
 			return;		
 		}
 		
 		int[] units3 = {2,2,1};
-		CompoundEntry[] entries3 = analysisBySplited(units3,input,isFirst);
+		CompoundEntry[] entries3 = analysisBySplited(units3,input,isFirst,lattice,offset);
 		if(entries3!=null && entries3[0].isExist()&&entries3[1].isExist()&&entries3[2].isExist()) {			
 			outputs.addAll(Arrays.asList(entries3));
 			return;
 		}
 		
 		int[] units4 = {2,1,2};
-		CompoundEntry[] entries4 = analysisBySplited(units4,input,isFirst);
+		CompoundEntry[] entries4 = analysisBySplited(units4,input,isFirst,lattice,offset);
 		if(entries4!=null && entries4[0].isExist()&&entries4[1].isExist()&&entries4[2].isExist()) {			
 			outputs.addAll(Arrays.asList(entries4));
 			return;
@@ -192,52 +252,52 @@ public class CompoundNounAnalyzer {
 		}			
 	}
 	
-	private void analyze6Word(String input,List outputs, boolean isFirst) throws MorphException {
+	private void analyze6Word(String input,List outputs, boolean isFirst, WordLattice lattice, int offset) throws MorphException {
 		
 		int[] units3 = {2,4};
-		CompoundEntry[] entries3 = analysisBySplited(units3,input,isFirst);
+		CompoundEntry[] entries3 = analysisBySplited(units3,input,isFirst,lattice,offset);
 		if(entries3!=null && entries3[0].isExist()&&entries3[1].isExist()) {
 			outputs.addAll(Arrays.asList(entries3));
 			return;		
 		}
 		
 		int[] units4 = {4,2};
-		CompoundEntry[] entries4 = analysisBySplited(units4,input,isFirst);
+		CompoundEntry[] entries4 = analysisBySplited(units4,input,isFirst,lattice,offset);
 		if(entries4!=null && entries4[0].isExist()&&entries4[1].isExist()) {
 			outputs.addAll(Arrays.asList(entries4));
 			return;		
 		}
 		
 		int[] units2 = {3,3};
-		CompoundEntry[] entries2 = analysisBySplited(units2,input,isFirst);
+		CompoundEntry[] entries2 = analysisBySplited(units2,input,isFirst,lattice,offset);
 		if(entries2!=null && entries2[0].isExist()&&entries2[1].isExist()) {
 			outputs.addAll(Arrays.asList(entries2));
 			return;		
 		}
 		
 		int[] units6 = {3,2,1};
-		CompoundEntry[] entries6 = analysisBySplited(units6,input,isFirst);
+		CompoundEntry[] entries6 = analysisBySplited(units6,input,isFirst,lattice,offset);
 		if(entries6!=null && entries6[0].isExist()&&entries6[1].isExist()) {
 			outputs.addAll(Arrays.asList(entries6));
 			return;		
 		}
 		
 		int[] units7 = {2,3,1};
-		CompoundEntry[] entries7 = analysisBySplited(units7,input,isFirst);
+		CompoundEntry[] entries7 = analysisBySplited(units7,input,isFirst,lattice,offset);
 		if(entries7!=null && entries7[0].isExist()&&entries7[1].isExist()) {
 			outputs.addAll(Arrays.asList(entries7));
 			return;		
 		}
 		
 		int[] units1 = {2,2,2};
-		CompoundEntry[] entries1 = analysisBySplited(units1,input,isFirst);
+		CompoundEntry[] entries1 = analysisBySplited(units1,input,isFirst,lattice,offset);
 		if(entries1!=null && entries1[0].isExist()&&entries1[1].isExist()&&entries1[2].isExist()) {
 			outputs.addAll(Arrays.asList(entries1));
 			return;		
 		}				
 		
 		int[] units5 = {2,1,2,1};
-		CompoundEntry[] entries5 = analysisBySplited(units5,input,isFirst);
+		CompoundEntry[] entries5 = analysisBySplited(units5,input,isFirst,lattice,offset);
 		if(entries5!=null && entries5[0].isExist()&&entries5[1].isExist()&&entries5[2].isExist()&&entries5[3].isExist()) {
 			outputs.addAll(Arrays.asList(entries5));
 			return;		
@@ -264,7 +324,7 @@ public class CompoundNounAnalyzer {
 			
 	}
 	
-	private void analyzeLongText(String input,List outputs, boolean isFirst) throws MorphException {
+	private void analyzeLongText(String input,List outputs, boolean isFirst, WordLattice lattice, int offset) throws MorphException {
 	
 		int pos = input.length()/2;
 		if(input.length()%2==1) pos++;
@@ -282,11 +342,11 @@ public class CompoundNounAnalyzer {
 			
 			List<CompoundEntry> candidates = new ArrayList();
 			
-			CompoundEntry prevEntry = analyzeSingle(prev);
+			CompoundEntry prevEntry = analyzeSingle(prev, lattice, offset);
 			if(prevEntry.isExist()) {
 				candidates.add(prevEntry);
 			} else {
-				List list = analyze(prev, true);
+				List list = analyze(prev, true, lattice, offset);
 				if(list.size()==0) {
 					candidates.add(prevEntry);
 				} else {
@@ -301,11 +361,11 @@ public class CompoundNounAnalyzer {
 				continue;
 			}
 
-			CompoundEntry rearEntry = analyzeSingle(rear);
+			CompoundEntry rearEntry = analyzeSingle(rear, lattice, offset+i);
 			if(rearEntry.isExist()||rear.length()==3) {
 				candidates.add(rearEntry);
 			} else {
-				List<CompoundEntry> list = analyze(rear, false);
+				List<CompoundEntry> list = analyze(rear, false, lattice, offset+i);
 				
 				if(list.size()==0) {
 					if(!e.isExist())
@@ -334,6 +394,119 @@ public class CompoundNounAnalyzer {
 		
 	}
 	
+	/**
+	 * lattice 의 사전 단어, 한 글자 단어, 사전에 없는 단어를 간선으로 하여 evaluation() 의
+	 * 점수가 가장 높은 분해를 동적계획법으로 찾는다. 점수가 같으면 단어 수가 적은 것을 고른다.
+	 * <p>
+	 * 점수는 단어 수와 한 글자 단어 수가 같으면 사전에 있는 단어가 많을수록 높으므로, 위치와
+	 * 단어 수와 한 글자 단어 수마다 사전에 있는 단어 수의 최대값만 기억한다. 그 수가 같으면
+	 * 사전 단어가 덮는 글자가 많은 것을 고른다. 단어 수는 {@link #MAX_WORDS} 까지만 보므로
+	 * 상태는 입력 길이에 비례하고, 시간은 입력 길이와 위치마다의 간선 수(사전 단어의 최대 길이)의
+	 * 곱에 비례한다. 사전 단어가 하나도 없거나 MAX_WORDS 개로 나눌 수 없으면 분해하지 않는다.
+	 */
+	private void analyzeByLattice(String input,List<CompoundEntry> outputs, boolean isFirst, WordLattice lattice, int offset) throws MorphException {
+		
+		int n = input.length();
+		
+		// best[at(pos,count,one)] : pos 까지를 count 개의 단어로 나누고 그 중 one 개가 
+		// 한 글자일 때 (사전에 있는 단어 수)*(n+1) + (사전 단어가 덮는 글자 수) 의 최대값, 없으면 -1
+		int[] best = new int[(n+1)*(MAX_WORDS+1)*(MAX_ONE+2)];
+		// back[at(pos,count,one)] : 마지막 단어의 길이*8 + 그 앞의 one
+		int[] back = new int[best.length];
+		Arrays.fill(best, -1);
+		best[at(0,0,0)] = 0;
+		
+		for(int pos=0;pos<n;pos++) {
+			
+			WordEntry[] row = lattice.row(offset+pos);
+			
+			int longest = exactMach ? 1 : MAX_UNKNOWN_LENGTH;
+			for(int len=longest+1;len<row.length;len++) {
+				if(row[len]!=null) longest = len;
+			}
+			
+			for(int len=Math.min(longest, n-pos);len>=1;len--) {
+				
+				boolean exist;
+				if(len==1) {
+					// 첫 단어는 접두어, 나머지는 접미어여야 한다.
+					String str = input.substring(pos,pos+1);
+					if(pos==0 ? !(isFirst&&DictionaryUtil.existPrefix(str)) : !DictionaryUtil.existSuffix(str)) continue;
+					exist = true;
+				} else {
+					WordEntry entry = row[len];
+					exist = entry!=null&&(entry.isNoun()||entry.isBusa());
+					if(!exist&&(exactMach||len>MAX_UNKNOWN_LENGTH)) continue;
+					if(pos!=0&&isUncompoundTail(input.substring(pos,pos+len))) continue;
+				}
+				
+				for(int count=0;count<=Math.min(pos, MAX_WORDS-1);count++) {
+					for(int one=0;one<=MAX_ONE+1;one++) {
+						
+						int value = best[at(pos,count,one)];
+						if(value<0) continue;
+						
+						int nextOne = len==1 ? Math.min(one+1, MAX_ONE+1) : one;
+						int nextValue = exist ? value+(n+1)+len : value;
+						int next = at(pos+len,count+1,nextOne);
+						if(best[next]<nextValue) {
+							best[next] = nextValue;
+							back[next] = len*8+one;
+						}
+					}
+				}
+			}
+		}
+		
+		int score = -1;
+		int bestCount = 0;
+		int bestOne = 0;
+		for(int count=2;count<=Math.min(n, MAX_WORDS);count++) {
+			for(int one=0;one<=MAX_ONE+1;one++) {
+				int value = best[at(n,count,one)];
+				if(value<0) continue;
+				int exist = value/(n+1);
+				int eval = one>MAX_ONE ? 10 : 10 + (exist*100)/count - (one*100)/count;
+				if(eval>score || (eval==score && count==bestCount && value>best[at(n,bestCount,bestOne)])) {
+					score = eval;
+					bestCount = count;
+					bestOne = one;
+				}
+			}
+		}
+		if(score<0 || best[at(n,bestCount,bestOne)]==0) return;
+		
+		CompoundEntry[] entries = new CompoundEntry[bestCount];
+		int pos = n;
+		int one = bestOne;
+		for(int count=bestCount;count>0;count--) {
+			int link = back[at(pos,count,one)];
+			int len = link >> 3;
+			one = link & 7;
+			pos -= len;
+			entries[count-1] = analyzeSingle(input.substring(pos,pos+len), lattice, offset+pos);
+		}
+		
+		outputs.addAll(Arrays.asList(entries));
+	}
+	
+	/**
+	 * analyzeByLattice 의 상태 배열에서 (pos, count, one) 의 위치
+	 */
+	private static int at(int pos, int count, int one) {
+		return (pos*(MAX_WORDS+1)+count)*(MAX_ONE+2)+one;
+	}
+	
+	/**
+	 * 복합명사의 뒷 단어가 될 수 없는 단어인지, uncompounds 사전에 "*:단어" 로 등록한다.
+	 */
+	private boolean isUncompoundTail(String word) throws MorphException {
+		WordEntry entry = DictionaryUtil.getUncompound(word);
+		if(entry==null) return false;
+		List<CompoundEntry> compounds = entry.getCompounds();			
+		return "*".equals(compounds.get(0).getWord())&&word.equals(compounds.get(1).getWord());
+	}
+	
 	private int evaluation(List<CompoundEntry> candidates) {
 		
 		int eval = 10;
@@ -355,16 +528,17 @@ public class CompoundNounAnalyzer {
 	
 	private boolean containWord(String before, String input, int pos) throws MorphException {
 		
-		String prev = null;
+		String text = before+input.substring(pos);
+		int prev = 0;
 		for(int i=pos;i<input.length();i++) {
 			
-			String text = before+input.substring(pos,i+1);		
-			if(DictionaryUtil.findWithPrefix(text).hasNext()) {
-				prev = text;
+			int len = before.length()+i-pos+1;
+			if(DictionaryUtil.hasPrefix(text, 0, len)) {
+				prev = len;
 				continue;
 			}
 			
-			if(prev!=null&&DictionaryUtil.getNoun(prev)!=null) return true;
+			if(prev>0&&DictionaryUtil.getNoun(text.substring(0,prev))!=null) return true;
 			
 			break;
 		}
@@ -486,7 +660,7 @@ public class CompoundNounAnalyzer {
 //		
 //	}
 	
-	private CompoundEntry[] analysisBySplited(int[] units, String input, boolean isFirst) throws MorphException {
+	private CompoundEntry[] analysisBySplited(int[] units, String input, boolean isFirst, WordLattice lattice, int offset) throws MorphException {
 	
 		CompoundEntry[] entries = new CompoundEntry[units.length];
 		
@@ -499,7 +673,7 @@ public class CompoundNounAnalyzer {
 
 			if(i!=0&&!validCompound(prev,str,isFirst&&(i==1),i)) return null;
 			
-			entries[i] = analyzeSingle(str); // CompoundEntry 로 변환
+			entries[i] = analyzeSingle(str, lattice, offset+pos); // CompoundEntry 로 변환
 
 			pos += units[i];
 			prev = str;
@@ -528,17 +702,41 @@ public class CompoundNounAnalyzer {
 	 * @throws MorphException
 	 */
 	private CompoundEntry analyzeSingle(String input) throws MorphException {
+		
+		if(input.length()==1) return  new CompoundEntry(input, 0, true,PatternConstants.POS_NOUN);
+		
+		return analyzeSingle(input, DictionaryUtil.getWordExceptVerb(input));
+		
+	}
+	
+	/**
+	 * lattice 의 offset 위치에서 시작하는 input 을 CompoundEntry 로 변환
+	 * @param input
+	 * @param lattice
+	 * @param offset
+	 * @return
+	 * @throws MorphException
+	 */
+	private CompoundEntry analyzeSingle(String input, WordLattice lattice, int offset) throws MorphException {
+		
+		if(input.length()==1) return  new CompoundEntry(input, 0, true,PatternConstants.POS_NOUN);
+		
+		WordEntry entry = lattice.get(offset, input.length());
+		if(entry!=null&&!entry.isNoun()&&!entry.isBusa()) entry = null;
+		
+		return analyzeSingle(input, entry);
+		
+	}
+	
+	private CompoundEntry analyzeSingle(String input, WordEntry entry) {
 						
-		boolean success = false;
 		int score = AnalysisOutput.SCORE_ANALYSIS;
 		int ptn = PatternConstants.PTN_N;
 		char pos = PatternConstants.POS_NOUN;
-		if(input.length()==1) return  new CompoundEntry(input, 0, true,pos);
 		
-		WordEntry entry = DictionaryUtil.getWordExceptVerb(input);
 		if(entry!=null) {
 			score = AnalysisOutput.SCORE_CORRECT;
-			if(entry.getFeature(WordEntry.IDX_NOUN)!='1') {
+			if(!entry.isNoun()) {
 				ptn = PatternConstants.PTN_AID;
 				pos = PatternConstants.POS_AID;
 			}
@@ -576,4 +774,41 @@ public class CompoundNounAnalyzer {
 		
 	}
 	
+	/**
+	 * 복합명사 후보의 단어를 찾을 때 부분 문자열마다 사전을 찾지 않도록
+	 * 시작위치마다 그 위치에서 시작하는 사전 단어를 한 번에 찾아 둔다.
+	 */
+	private static class WordLattice {
+		
+		private final char[] buf;
+		
+		/** 시작위치, 길이 순으로 찾은 단어 */
+		private final WordEntry[][] words;
+		
+		WordLattice(String input) {
+			this.buf = input.toCharArray();
+			this.words = new WordEntry[buf.length][];
+		}
+		
+		WordEntry get(int offset, int length) throws MorphException {
+			return row(offset)[length];
+		}
+		
+		/**
+		 * offset 에서 시작하는 단어를 길이를 색인으로 하여 반환한다.
+		 */
+		WordEntry[] row(int offset) throws MorphException {
+			
+			if(words[offset]==null) {
+				WordEntry[] row = new WordEntry[buf.length-offset+1];
+				for(WordEntry entry : DictionaryUtil.commonPrefixSearch(buf, offset, buf.length-offset)) {
+					row[entry.getWord().length()] = entry;
+				}
+				words[offset] = row;
+			}
+			
+			return words[offset];
+		}
+	}
+	
 }
@@ -0,0 +1,276 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr.morph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.analysis.kr.utils.ConstraintUtil;
+import org.apache.lucene.analysis.kr.utils.DictionaryUtil;
+import org.apache.lucene.analysis.kr.utils.IrregularUtil;
+import org.apache.lucene.analysis.kr.utils.MorphUtil;
+import org.apache.lucene.analysis.kr.utils.SuffixAutomaton;
+
+/**
+ * 어절을 사전 단어, 조사, 어미로 이루어진 격자(lattice)로 만들고 비용이 가장 작은
+ * 경로 하나를 Viterbi 로 찾는 분석기.
+ * <p>
+ *
+ * 격자의 마디는 사전에 있는 명사(복합명사 포함), 어절 앞의 부사와 용언 어간, 어절 끝의
+ * 조사와 어미이다. 명사와 부사 뒤에는 조사가, 용언 어간 뒤에는 어미가 이어지고, 세 가지
+ * 경로가 같은 비용으로 비교된다. 비용은 AnalysisOutput 의 점수로 정한다.
+ * <ul>
+ * <li>사전에 있는 마디는 SCORE_CORRECT 이므로 비용이 0 이다.</li>
+ * <li>명사와 명사 사이, 즉 복합명사의 경계는 SCORE_CORRECT - SCORE_COMPOUNDS 이다.</li>
+ * <li>복합명사 안의 한 글자 명사, 한 글자 명사나 부사 어간은 SCORE_COMPOUNDS - SCORE_ANALYSIS
+ * 를 더한다. 용언 어간은 어미 없이 쓰이지 않으므로 더하지 않는다. '가는' 이 '가+는(조사)'
+ * 가 아니라 '가+는(어미)' 가 되는 것은 이 때문이다.</li>
+ * </ul>
+ * 비용이 같으면 어간이 긴 경로, 그 다음은 명사, 부사, 용언의 순서이다.
+ * 경로의 비용이 SCORE_CORRECT - SCORE_ANALYSIS 이상이면 사전에 없는 명사로 추정하는 것보다
+ * 나을 것이 없으므로, 경로가 없을 때와 같이 규칙기반 분석({@link MorphAnalyzer})을 한다.
+ * 선어말어미가 붙은 활용형, 불규칙 용언, 미등록어는 그쪽에서 분석된다.
+ * <p>
+ *
+ * 결과는 후보를 모두 돌려주는 규칙기반 분석과 달리 가장 좋은 경로 하나이다.
+ */
+public class LatticeMorphAnalyzer extends MorphAnalyzer {
+
+	private static final int INF = Integer.MAX_VALUE;
+
+	private static final int COST_BOUNDARY = AnalysisOutput.SCORE_CORRECT
+			- AnalysisOutput.SCORE_COMPOUNDS;
+
+	private static final int COST_ONE = AnalysisOutput.SCORE_COMPOUNDS
+			- AnalysisOutput.SCORE_ANALYSIS;
+
+	private static final int MAX_COST = AnalysisOutput.SCORE_CORRECT
+			- AnalysisOutput.SCORE_ANALYSIS;
+
+	public LatticeMorphAnalyzer() {
+		this(new CompoundNounAnalyzer(false), null);
+	}
+
+	/**
+	 * @param cnAnalyzer
+	 *            규칙기반 분석으로 넘어갈 때 쓰는 복합명사 분해기
+	 * @param cache
+	 *            null 이면 캐시를 사용하지 않는다. 규칙기반 분석과 결과가 다르므로
+	 *            같은 캐시를 써서는 안된다.
+	 */
+	public LatticeMorphAnalyzer(CompoundNounAnalyzer cnAnalyzer, AnalysisCache cache) {
+		super(cnAnalyzer, cache);
+	}
+
+	public List<AnalysisOutput> analyze(String input, int pos) throws MorphException {
+
+		AnalysisOutput output = analyzeLattice(input);
+		if (output == null)
+			return super.analyze(input, pos);
+
+		List<AnalysisOutput> results = new ArrayList<AnalysisOutput>(1);
+		results.add(output);
+		return results;
+	}
+
+	/**
+	 * 가장 좋은 경로를 분석결과로 만들어 반환한다. 받아들일 만한 경로가 없으면 null.
+	 */
+	private AnalysisOutput analyzeLattice(String input) throws MorphException {
+
+		int n = input.length();
+		if (n == 0)
+			return null;
+
+		char[] buf = input.toCharArray();
+
+		// cost[i] : i 에서 끝나는 명사까지의 최소비용, node[i] 는 그 명사
+		int[] cost = new int[n + 1];
+		WordEntry[] node = new WordEntry[n + 1];
+		Arrays.fill(cost, INF);
+
+		WordEntry[] heads = new WordEntry[n + 1];
+
+		// 조사, 어미로 끝나는 위치는 어절을 거꾸로 한번 읽어서 찾는다.
+		SuffixAutomaton josaDic = DictionaryUtil.getJosaAutomaton();
+		int[] josaStates = new int[n + 1];
+		josaDic.scan(input, josaStates);
+
+		SuffixAutomaton eomiDic = DictionaryUtil.getEomiAutomaton();
+		int[] eomiStates = new int[n + 1];
+		eomiDic.scan(input, eomiStates);
+
+		for (int i = 0; i < n; i++) {
+			if (i > 0 && cost[i] >= MAX_COST)
+				continue;
+
+			for (WordEntry entry : DictionaryUtil.commonPrefixSearch(buf, i, n - i)) {
+				int len = entry.getWord().length();
+				int j = i + len;
+
+				if (i == 0 && (entry.isVerb() || entry.isBusa()) && heads[j] == null)
+					heads[j] = entry;
+
+				if (!entry.isNoun() && !entry.isCompoundNoun())
+					continue;
+
+				int c = 0;
+				if (i > 0) {
+					c = cost[i] + COST_BOUNDARY;
+					if (i == 1)
+						c += COST_ONE;
+					if (len == 1)
+						c += COST_ONE;
+				}
+				if (c < cost[j]) {
+					cost[j] = c;
+					node[j] = entry;
+				}
+			}
+		}
+
+		// 어간이 끝나는 위치마다 명사, 부사, 용언 경로를 비교한다. head 가 null 이면 명사 경로
+		int best = INF;
+		int stemEnd = 0;
+		WordEntry head = null;
+		boolean verb = false;
+
+		for (int i = n; i > 0; i--) {
+			boolean josaEnd = i == n || josaDic.isFinal(josaStates[i]);
+			boolean eomiEnd = i < n && eomiDic.isFinal(eomiStates[i]);
+			if (!josaEnd && !eomiEnd)
+				continue;
+
+			String rest = i < n ? input.substring(i) : null;
+			boolean josa = josaEnd && (rest == null || canAttachJosa(buf[i - 1], rest));
+			int one = i == 1 ? COST_ONE : 0;
+
+			if (josa && cost[i] < INF && cost[i] + one < best) {
+				best = cost[i] + one;
+				stemEnd = i;
+				head = null;
+			}
+
+			WordEntry entry = heads[i];
+			if (entry == null)
+				continue;
+
+			if (josa && entry.isBusa() && one < best) {
+				best = one;
+				stemEnd = i;
+				head = entry;
+				verb = false;
+			}
+
+			if (eomiEnd && entry.isVerb() && 0 < best && canAttachEomi(entry, rest)) {
+				best = 0;
+				stemEnd = i;
+				head = entry;
+				verb = true;
+			}
+		}
+
+		if (best >= MAX_COST)
+			return null;
+
+		String end = stemEnd < n ? input.substring(stemEnd) : null;
+		if (head == null)
+			return buildNoun(input, node, stemEnd, end);
+
+		AnalysisOutput o;
+		if (verb) {
+			o = new AnalysisOutput(head.getWord(), null, end,
+					PatternConstants.PTN_VM, AnalysisOutput.SCORE_CORRECT);
+			o.setPos(PatternConstants.POS_VERB);
+		} else {
+			o = new AnalysisOutput(head.getWord(), end, null,
+					end == null ? PatternConstants.PTN_AID : PatternConstants.PTN_ADVJ,
+					AnalysisOutput.SCORE_CORRECT);
+			o.setPos(PatternConstants.POS_ETC);
+		}
+		return o;
+	}
+
+	private AnalysisOutput buildNoun(String input, WordEntry[] node, int stemEnd,
+			String josa) throws MorphException {
+
+		String stem = input.substring(0, stemEnd);
+		AnalysisOutput o = new AnalysisOutput(stem, josa, null,
+				josa == null ? PatternConstants.PTN_N : PatternConstants.PTN_NJ,
+				AnalysisOutput.SCORE_CORRECT);
+		o.setPos(PatternConstants.POS_NOUN);
+
+		WordEntry last = node[stemEnd];
+		if (last.getWord().length() == stemEnd) {
+			if (last.isCompoundNoun())
+				o.addCNoun(last.getCompounds());
+			return o;
+		}
+
+		List<CompoundEntry> cnouns = new ArrayList<CompoundEntry>();
+		for (int j = stemEnd; j > 0;) {
+			WordEntry entry = node[j];
+			int i = j - entry.getWord().length();
+			cnouns.add(0, new CompoundEntry(entry.getWord(), i, true,
+					PatternConstants.POS_NOUN));
+			j = i;
+		}
+		o.setCNoun(cnouns);
+
+		return constraint(o) ? o : null;
+	}
+
+	/**
+	 * MorphAnalyzer.analysisWithJosa 와 같이 받침에 따라 붙을 수 없는 조사를 거른다.
+	 */
+	private boolean canAttachJosa(char last, String josa) {
+
+		char[] chrs = MorphUtil.decompose(last);
+		if (chrs.length == 3 && ConstraintUtil.isTwoJosa(josa))
+			return false;
+		if (chrs.length == 2 && ConstraintUtil.isThreeJosa(josa))
+			return false;
+		return true;
+	}
+
+	/**
+	 * 어간의 받침에 따라 붙을 수 없는 어미를 거른다. 받침이 없는 어간 뒤에는 '으' 로 시작하는
+	 * 어미가 오지 않고, ㄹ 받침은 ㄴ, ㅂ, ㅅ 앞에서 떨어지므로 '말을', '말는' 은 용언 '말' 이 될 수 없다.
+	 */
+	private boolean canAttachEomi(WordEntry verb, String eomi) {
+
+		char irr = verb.getIrregularType();
+		if (("을".equals(eomi) || "은".equals(eomi) || "음".equals(eomi))
+				&& (irr == IrregularUtil.IRR_TYPE_LIUL || irr == IrregularUtil.IRR_TYPE_BIUP))
+			return false;
+
+		String stem = verb.getWord();
+		char[] last = MorphUtil.decompose(stem.charAt(stem.length() - 1));
+		char[] first = MorphUtil.decompose(eomi.charAt(0));
+		if (last.length < 2 || first.length < 2)
+			return true;
+
+		boolean eu = first[0] == 'ㅇ' && first[1] == 'ㅡ';
+		if (last.length == 2 && eu)
+			return false;
+		if (last.length == 3 && last[2] == 'ㄹ'
+				&& (eu || first[0] == 'ㄴ' || first[0] == 'ㅂ' || first[0] == 'ㅅ'))
+			return false;
+		return true;
+	}
+}
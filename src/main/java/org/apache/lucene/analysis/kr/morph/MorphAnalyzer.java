@@ -28,6 +28,7 @@ import org.apache.lucene.analysis.kr.utils.EomiUtil;
 import org.apache.lucene.analysis.kr.utils.IrregularUtil;
 import org.apache.lucene.analysis.kr.utils.MorphUtil;
 import org.apache.lucene.analysis.kr.utils.NounUtil;
+import org.apache.lucene.analysis.kr.utils.SuffixAutomaton;
 import org.apache.lucene.analysis.kr.utils.SyllableUtil;
 import org.apache.lucene.analysis.kr.utils.VerbUtil;
 
@@ -48,17 +49,59 @@ public class MorphAnalyzer {
 	 */
 	public static final int POS_END = 3;
 
-	private CompoundNounAnalyzer cnAnalyzer = new CompoundNounAnalyzer();
+	private CompoundNounAnalyzer cnAnalyzer;
+
+	/**
+	 * 분석결과 캐시, null 이면 캐시를 사용하지 않는다.
+	 */
+	private final AnalysisCache cache;
 
 	public MorphAnalyzer() {
-		cnAnalyzer.setExactMach(false);
+		this(new CompoundNounAnalyzer(false), null);
+	}
+
+	/**
+	 * 분석 중의 상태는 모두 지역변수이므로 이렇게 만든 객체는 여러 쓰레드가 같이 쓸 수
+	 * 있다. 캐시는 복합명사를 정확하게 분해하지 않는 분석결과만 저장한다.
+	 * 
+	 * @param cnAnalyzer
+	 *            복합명사 분해기, 다른 분석기와 같이 써도 된다.
+	 * @param cache
+	 *            null 이면 캐시를 사용하지 않는다.
+	 */
+	public MorphAnalyzer(CompoundNounAnalyzer cnAnalyzer, AnalysisCache cache) {
+		this.cnAnalyzer = cnAnalyzer;
+		this.cache = cache;
 	}
 
+	/**
+	 * @deprecated {@link #MorphAnalyzer(CompoundNounAnalyzer, AnalysisCache)} 로 설정한다.
+	 */
+	@Deprecated
 	public void setExactCompound(boolean is) {
-		cnAnalyzer.setExactMach(is);
+		cnAnalyzer = new CompoundNounAnalyzer(is);
+	}
+
+	/**
+	 * 어절을 분석한다. 캐시를 사용하면 다른 쓰레드와 공유하는 결과를 반환하므로 결과를 수정해서는 안된다.
+	 * 
+	 * @param input
+	 * @return
+	 * @throws MorphException
+	 */
+	public List<AnalysisOutput> analyze(String input) throws MorphException {
+
+		if (cache == null || cnAnalyzer.isExactMach())
+			return analyzeEojeol(input);
+
+		List<AnalysisOutput> outputs = cache.get(input);
+		if (outputs == null)
+			outputs = cache.put(input, analyzeEojeol(input));
+
+		return outputs;
 	}
 
-	public List analyze(String input) throws MorphException {
+	private List<AnalysisOutput> analyzeEojeol(String input) throws MorphException {
 
 		if (input.endsWith("."))
 			return analyze(input.substring(0, input.length() - 1), POS_END);
@@ -73,7 +116,9 @@ public class MorphAnalyzer {
 	 * @return
 	 * @throws MorphException
 	 */
-	public List analyze(String input, int pos) throws MorphException {
+	public List<AnalysisOutput> analyze(String input, int pos) throws MorphException {
+
+		AnalysisBudget.check();
 
 		List<AnalysisOutput> candidates = new ArrayList();
 		boolean isVerbOnly = MorphUtil.hasVerbOnly(input);
@@ -196,28 +241,44 @@ public class MorphAnalyzer {
 
 		int strlen = input.length();
 
+		// 어절을 뒤에서부터 한번 읽어서 조사와 어미로 끝날 수 있는 위치를 모두 찾아둔다.
+		SuffixAutomaton josaDic = DictionaryUtil.getJosaAutomaton();
+		int[] josaStates = new int[strlen + 1];
+		josaDic.scan(input, josaStates);
+
+		int[] eomiStates = new int[strlen + 1];
+		DictionaryUtil.getEomiAutomaton().scan(input, eomiStates);
+
 		// boolean isVerbOnly = MorphUtil.hasVerbOnly(input);
 		boolean isVerbOnly = false;
 		analysisWithEomi(input, "", candidates);
 
 		for (int i = strlen - 1; i > 0; i--) {
 
-			String stem = input.substring(0, i);
-			String eomi = input.substring(i);
+			long feature = SyllableUtil.featureMask(input.charAt(i));
 
-			char[] feature = SyllableUtil.getFeature(eomi.charAt(0));
-			if (!isVerbOnly && josaFlag
-					&& feature[SyllableUtil.IDX_JOSA1] == '1') {
-				analysisWithJosa(stem, eomi, candidates);
-			}
+			boolean withJosa = !isVerbOnly && josaFlag
+					&& josaDic.isFinal(josaStates[i])
+					&& SyllableUtil.hasFeature(feature, SyllableUtil.IDX_JOSA1);
+
+			// 어미의 끝이 될 수 없으면 splitEomi 는 분리하지 못한다. '하+여' 만 예외이다.
+			boolean withEomi = eomiFlag
+					&& (eomiStates[i] != SuffixAutomaton.DEAD || isHaYeo(input, i));
+
+			if (withJosa || withEomi) {
+				String stem = input.substring(0, i);
+				String eomi = input.substring(i);
 
-			if (eomiFlag) {
-				analysisWithEomi(stem, eomi, candidates);
+				if (withJosa)
+					analysisWithJosa(stem, eomi, candidates);
+
+				if (withEomi)
+					analysisWithEomi(stem, eomi, candidates);
 			}
 
-			if (josaFlag && feature[SyllableUtil.IDX_JOSA2] == '0')
+			if (josaFlag && !SyllableUtil.hasFeature(feature, SyllableUtil.IDX_JOSA2))
 				josaFlag = false;
-			if (eomiFlag && feature[SyllableUtil.IDX_EOMI2] == '0')
+			if (eomiFlag && !SyllableUtil.hasFeature(feature, SyllableUtil.IDX_EOMI2))
 				eomiFlag = false;
 
 			if (!josaFlag && !eomiFlag)
@@ -225,6 +286,11 @@ public class MorphAnalyzer {
 		}
 	}
 
+	private static boolean isHaYeo(String input, int i) {
+		return i == input.length() - 1 && input.charAt(i) == '\uC5EC'
+				&& input.charAt(i - 1) == '\uD558';
+	}
+
 	private void addResults(AnalysisOutput o, List results,
 			HashMap<String, AnalysisOutput> stems) {
 		AnalysisOutput old = stems.get(o.getStem());
@@ -251,22 +317,22 @@ public class MorphAnalyzer {
 		WordEntry entry;
 		if ((entry = DictionaryUtil.getWord(word)) != null) {
 
-			if (entry.getFeature(WordEntry.IDX_NOUN) != '1'
-					&& entry.getFeature(WordEntry.IDX_BUSA) == '1') {
+			if (!entry.isNoun()
+					&& entry.isBusa()) {
 				AnalysisOutput busa = new AnalysisOutput(word, null, null,
 						PatternConstants.PTN_AID);
 				busa.setPos(PatternConstants.POS_ETC);
 
 				busa.setScore(AnalysisOutput.SCORE_CORRECT);
 				candidates.add(0, busa);
-			} else if (entry.getFeature(WordEntry.IDX_NOUN) == '1') {
+			} else if (entry.isNoun()) {
 				output.setScore(AnalysisOutput.SCORE_CORRECT);
 				candidates.add(0, output);
-			} else if (entry.getFeature(WordEntry.IDX_NOUN) == '2') {
+			} else if (entry.isCompoundNoun()) {
 				candidates.add(0, output);
 			}
 
-			if (entry.getFeature(WordEntry.IDX_VERB) != '1')
+			if (!entry.isVerb())
 				return;
 		} else if (candidates.size() == 0 || !NounUtil.endsWith2Josa(word)) {
 			output.setScore(AnalysisOutput.SCORE_ANALYSIS);
@@ -311,7 +377,7 @@ public class MorphAnalyzer {
 		if (entry != null) {
 			output.setScore(AnalysisOutput.SCORE_CORRECT);
 			if (entry.getFeature(WordEntry.IDX_NOUN) == '0'
-					&& entry.getFeature(WordEntry.IDX_BUSA) == '1') {
+					&& entry.isBusa()) {
 				output.setPos(PatternConstants.POS_ETC);
 				output.setPatn(PatternConstants.PTN_ADVJ);
 			}
@@ -356,16 +422,16 @@ public class MorphAnalyzer {
 			WordEntry entry = DictionaryUtil.getVerb(o.getStem());
 			if (entry != null
 					&& !(("을".equals(end) || "은".equals(end) || "음".equals(end)) && (entry
-							.getFeature(WordEntry.IDX_REGURA) == IrregularUtil.IRR_TYPE_LIUL || entry
-							.getFeature(WordEntry.IDX_REGURA) == IrregularUtil.IRR_TYPE_BIUP))) {
+							.getIrregularType() == IrregularUtil.IRR_TYPE_LIUL || entry
+							.getIrregularType() == IrregularUtil.IRR_TYPE_BIUP))) {
 				// System.out.println(entry.getWord());
 				AnalysisOutput output = o.clone();
 				output.setScore(AnalysisOutput.SCORE_CORRECT);
 				MorphUtil.buildPtnVM(output, candidates);
 
-				char[] features = SyllableUtil.getFeature(stem.charAt(stem
+				long features = SyllableUtil.featureMask(stem.charAt(stem
 						.length() - 1)); // ㄹ불규칙일 경우
-				if (features[SyllableUtil.IDX_YNPLN] == '0'
+				if (!SyllableUtil.hasFeature(features, SyllableUtil.IDX_YNPLN)
 						|| morphs[1].charAt(0) != 'ㄴ')
 					return;
 			}
@@ -439,7 +505,7 @@ public class MorphAnalyzer {
 			return false;
 
 		WordEntry cnoun = DictionaryUtil.getCNoun(o.getStem());
-		if (cnoun != null && cnoun.getFeature(WordEntry.IDX_NOUN) == '2') {
+		if (cnoun != null && cnoun.isCompoundNoun()) {
 			o.addCNoun(cnoun.getCompounds());
 			o.setScore(AnalysisOutput.SCORE_CORRECT);
 			return true;
@@ -483,7 +549,7 @@ public class MorphAnalyzer {
 
 	}
 
-	private boolean constraint(AnalysisOutput o) throws MorphException {
+	boolean constraint(AnalysisOutput o) throws MorphException {
 
 		List<CompoundEntry> cnouns = o.getCNounList();
 
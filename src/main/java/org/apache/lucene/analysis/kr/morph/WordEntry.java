@@ -39,11 +39,25 @@ public class WordEntry {
 	private String word;
 	
 	/**
-	 * 단어특성
+	 * 단어특성, 특성 하나를 FEATURE_BITS 비트로 표현하고 가장 위의 4비트에 특성의 수를 둔다.
 	 */
-	private char[] features;
+	private long features;
 	
-	private List<CompoundEntry> compounds = new ArrayList();
+	/**
+	 * 특성 하나에 사용하는 비트 수, '0'(0x30) 부터 'o'(0x6F) 까지의 문자를 표현할 수 있다.
+	 */
+	private static final int FEATURE_BITS = 6;
+	
+	private static final long FEATURE_MASK = (1L << FEATURE_BITS) - 1;
+	
+	/**
+	 * 저장할 수 있는 특성의 수, IDX_REGURA 이후의 특성은 사용하지 않는다.
+	 */
+	private static final int MAX_FEATURES = IDX_REGURA + 1;
+	
+	private static final int LENGTH_SHIFT = 60;
+	
+	private List<CompoundEntry> compounds;
 	
 	public WordEntry() {
 		
@@ -55,7 +69,12 @@ public class WordEntry {
 	
 	public WordEntry(String word, char[] cs) {
 		this.word = word;
-		this.features = cs;
+		this.features = encode(cs);
+	}
+	
+	public WordEntry(String word, long features) {
+		this.word = word;
+		this.features = features;
 	}
 	
 	public WordEntry(String word, List c) {
@@ -72,23 +91,101 @@ public class WordEntry {
 	}
 	
 	public void setFeatures(char[] cs) {
-		this.features = cs;
+		this.features = encode(cs);
 	}
 	
 	public char getFeature(int index) {
-		if(features==null||features.length<index) return '0';		
-		return features[index];
+		if(index<0||index>=MAX_FEATURES) return '0';
+		return (char) ('0' + ((features >>> (index*FEATURE_BITS)) & FEATURE_MASK));
 	}
 	
+	/**
+	 * 단어특성을 문자 배열로 반환한다. 호출할 때마다 배열을 만들므로 특성 하나를 볼 때는
+	 * {@link #getFeature(int)} 나 is*() 를 사용한다.
+	 */
 	public char[] getFeatures() {
+		int length = (int) (features >>> LENGTH_SHIFT);
+		char[] cs = new char[length];
+		for(int i=0;i<length;i++) {
+			cs[i] = getFeature(i);
+		}
+		return cs;
+	}
+	
+	/**
+	 * 비트로 표현된 단어특성을 반환한다.
+	 */
+	public long getFeatureBits() {
 		return this.features;
 	}
 	
+	/**
+	 * 단어특성 문자 배열을 비트로 표현한다. 표현할 수 없는 문자는 '0' 으로 취급한다.
+	 */
+	public static long encode(char[] cs) {
+		if(cs==null) return 0;
+		int length = Math.min(cs.length, MAX_FEATURES);
+		long bits = (long) length << LENGTH_SHIFT;
+		for(int i=0;i<length;i++) {
+			long v = cs[i] - '0';
+			if(v<0||v>FEATURE_MASK) v = 0;
+			bits |= v << (i*FEATURE_BITS);
+		}
+		return bits;
+	}
+	
+	private boolean is(int index, char value) {
+		return ((features >>> (index*FEATURE_BITS)) & FEATURE_MASK) == value - '0';
+	}
+	
+	/** 명사 */
+	public boolean isNoun() {
+		return is(IDX_NOUN, '1');
+	}
+	
+	/** 복합명사 */
+	public boolean isCompoundNoun() {
+		return is(IDX_NOUN, '2');
+	}
+	
+	/** 동사 */
+	public boolean isVerb() {
+		return is(IDX_VERB, '1');
+	}
+	
+	/** 부사 */
+	public boolean isBusa() {
+		return is(IDX_BUSA, '1');
+	}
+	
+	/** '하' 가 붙어 동사가 되는 명사 */
+	public boolean isDov() {
+		return is(IDX_DOV, '1');
+	}
+	
+	/** '되' 가 붙어 동사가 되는 명사 */
+	public boolean isBev() {
+		return is(IDX_BEV, '1');
+	}
+	
+	/** '내' 가 붙어 동사가 되는 명사 */
+	public boolean isNe() {
+		return is(IDX_NE, '1');
+	}
+	
+	/**
+	 * 불규칙 유형을 반환한다, IrregularUtil.IRR_TYPE_* 중 하나이다.
+	 */
+	public char getIrregularType() {
+		return getFeature(IDX_REGURA);
+	}
+	
 	public void setCompounds(List<CompoundEntry> c) {
 		this.compounds = c;
 	}
 	
 	public List<CompoundEntry> getCompounds() {
+		if(compounds==null) compounds = new ArrayList();
 		return this.compounds;
 	}
 	
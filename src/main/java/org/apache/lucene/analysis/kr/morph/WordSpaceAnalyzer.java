@@ -19,7 +19,6 @@ package org.apache.lucene.analysis.kr.morph;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -35,14 +34,20 @@ import org.apache.lucene.analysis.kr.utils.VerbUtil;
  */
 public class WordSpaceAnalyzer {
 
-	private MorphAnalyzer morphAnal;
+	private final MorphAnalyzer morphAnal;
 	
 	public WordSpaceAnalyzer() {
-		morphAnal = new MorphAnalyzer();
-		morphAnal.setExactCompound(false);
+		this(new MorphAnalyzer());
 	}
 	
-	public List analyze(String input)  throws MorphException {
+	/**
+	 * @param morphAnal	다른 쓰레드와 같이 쓰는 형태소 분석기여도 된다.
+	 */
+	public WordSpaceAnalyzer(MorphAnalyzer morphAnal) {
+		this.morphAnal = morphAnal;
+	}
+	
+	public List<AnalysisOutput> analyze(String input)  throws MorphException {
 
 		List stack = new ArrayList();
 		
@@ -54,12 +59,25 @@ public class WordSpaceAnalyzer {
 		
 		Map<Integer, Integer> fCounter = new HashMap();
 		
+		char[] buf = input.toCharArray();
+		
+		// wStart 에서 시작하는 사전 단어
+		List<WordEntry> words = null;
+		int wordsStart = -1;
+		
 		for(int i=0;i<input.length();i++) {						
 			
-			char[] f = SyllableUtil.getFeature(input.charAt(i));
+			AnalysisBudget.check();
+			
+			long f = SyllableUtil.featureMask(input.charAt(i));
+			
+			if(wordsStart!=wStart) {
+				words = DictionaryUtil.commonPrefixSearch(buf, wStart, buf.length-wStart);
+				wordsStart = wStart;
+			}
 			
-			String prefix = i==input.length()-1 ? "X" : input.substring(wStart,i+2);					
-			Iterator iter = DictionaryUtil.findWithPrefix(prefix);
+			// 다음 음절까지 사전 단어의 일부인지, 마지막 음절이라면 다음 음절이 없다.
+			boolean hasPrefix = i!=input.length()-1 && DictionaryUtil.hasPrefix(buf, wStart, i+2-wStart);
 			
 			List<AnalysisOutput> candidates = new ArrayList();		
 			
@@ -72,19 +90,19 @@ public class WordSpaceAnalyzer {
 			// 다음 음절이 2음절 이상 단어에 포함되어 있고 마지막 음절이 아니라면   띄워쓰기 위치가 아닐 가능성이 크다.
 			// 부사, 관형사, 감탄사 등 단일어일 가능성인 경우 띄워쓰기가 가능하나, 
 			// 이 경우는 다음 음절을 조사하여 
-			} else if(i!= input.length()-1 && iter.hasNext()) { 
+			} else if(hasPrefix) { 
 				// 아무짓도 하지 않음.
 				sgCount = i;
-			} else if(!iter.hasNext() && 
-					(entry=DictionaryUtil.getBusa(input.substring(wStart,i+1)))!=null) { 				
+			} else if(!hasPrefix && 
+					(entry=getBusa(words, i+1-wStart))!=null) { 				
 				candidates.add(buildSingleOutput(entry));
 				
 			// 현 음절이 조사나 어미가 시작되는 음절일 가능성이 있다면...	
-			} else if(f[SyllableUtil.IDX_EOGAN]=='1'||f[SyllableUtil.IDX_JOSA1]=='1'){				
-				if(f[SyllableUtil.IDX_JOSA1]=='1') 
+			} else if(SyllableUtil.hasFeature(f, SyllableUtil.IDX_EOGAN)||SyllableUtil.hasFeature(f, SyllableUtil.IDX_JOSA1)){				
+				if(SyllableUtil.hasFeature(f, SyllableUtil.IDX_JOSA1)) 
 					candidates.addAll(anlysisWithJosa(input.substring(wStart), i-wStart));
 
-				if(f[SyllableUtil.IDX_EOGAN]=='1') 
+				if(SyllableUtil.hasFeature(f, SyllableUtil.IDX_EOGAN)) 
 					candidates.addAll(anlysisWithEomi(input.substring(wStart), i-wStart));
 			}
 	
@@ -132,6 +150,24 @@ public class WordSpaceAnalyzer {
 		return output.getPhrases();
 	}
 	
+	/**
+	 * commonPrefixSearch 로 찾은 단어 중에서 길이가 length 인 부사를 찾는다.
+	 * DictionaryUtil.getBusa 와 같은 조건이다.
+	 * @param words
+	 * @param length
+	 * @return
+	 */
+	private WordEntry getBusa(List<WordEntry> words, int length) {
+		
+		for(WordEntry entry : words) {
+			if(entry.getWord().length()!=length) continue;
+			if(entry.isBusa()&&entry.getFeature(WordEntry.IDX_NOUN)=='0') return entry;
+			return null;
+		}
+		
+		return null;
+	}
+	
 	/**
 	 * 조사로 끝나는 어구를 분석한다.
 	 * @param snipt
@@ -158,13 +194,13 @@ public class WordSpaceAnalyzer {
 			
 			String josa = input.substring(i);
 
-			char[] feature =  SyllableUtil.getFeature(josa.charAt(0));	
+			long feature =  SyllableUtil.featureMask(josa.charAt(0));	
 			
-			if(josaFlag&&feature[SyllableUtil.IDX_JOSA1]=='1') {
+			if(josaFlag&&SyllableUtil.hasFeature(feature, SyllableUtil.IDX_JOSA1)) {
 				morphAnal.analysisWithJosa(stem,josa,candidates);				
 			}
 				
-			if(josaFlag&&feature[SyllableUtil.IDX_JOSA2]=='0') josaFlag = false;
+			if(josaFlag&&!SyllableUtil.hasFeature(feature, SyllableUtil.IDX_JOSA2)) josaFlag = false;
 			
 			if(!josaFlag) break;
 			
@@ -204,8 +240,8 @@ public class WordSpaceAnalyzer {
 		
 		// 조사의 2음절로 사용될 수 마지막 음절을 찾는다.
 		for(int i=jstart+1;i<snipt.length();i++) {
-			char[] f = SyllableUtil.getFeature(snipt.charAt(i));
-			if(f[SyllableUtil.IDX_JOSA2]=='0') break;
+			long f = SyllableUtil.featureMask(snipt.charAt(i));
+			if(!SyllableUtil.hasFeature(f, SyllableUtil.IDX_JOSA2)) break;
 			jend = i;				
 		}
 				
@@ -296,13 +332,12 @@ public class WordSpaceAnalyzer {
 		// 동사앞에 명사분리
 		int vstart = 0;
 		for(int i=estart-1;i>=0;i--) {	
-			Iterator iter = DictionaryUtil.findWithPrefix(snipt.substring(i,estart)); 
-			if(iter.hasNext()) vstart=i;
+			if(DictionaryUtil.hasPrefix(snipt, i, estart-i)) vstart=i;
 			else break;
 		}
 			
 		if(snipt.length()>eend &&
-				DictionaryUtil.findWithPrefix(snipt.substring(vstart,eend+1)).hasNext()) 
+				DictionaryUtil.hasPrefix(snipt, vstart, eend+1-vstart)) 
 			return candidates;	// 다음음절까지 단어의 일부라면.. 분해를 안한다.
 		
 		String pvword = null;
@@ -366,10 +401,10 @@ public class WordSpaceAnalyzer {
 		int strlen = input.length();
 		
 		char ch = input.charAt(strlen-1);
-		char[] feature =  SyllableUtil.getFeature(ch);
+		long feature =  SyllableUtil.featureMask(ch);
 		
-		if(feature[SyllableUtil.IDX_YNPNA]=='1'||feature[SyllableUtil.IDX_YNPLA]=='1'||
-				feature[SyllableUtil.IDX_YNPMA]=='1')
+		if(SyllableUtil.hasFeature(feature, SyllableUtil.IDX_YNPNA)||SyllableUtil.hasFeature(feature, SyllableUtil.IDX_YNPLA)||
+				SyllableUtil.hasFeature(feature, SyllableUtil.IDX_YNPMA))
 			morphAnal.analysisWithEomi(input,"",candidates);
 		
 		for(int i=strlen-1;i>0;i--) {
@@ -377,13 +412,13 @@ public class WordSpaceAnalyzer {
 			String stem = input.substring(0,i);
 			String eomi = input.substring(i);
 
-			feature =  SyllableUtil.getFeature(eomi.charAt(0));		
+			feature =  SyllableUtil.featureMask(eomi.charAt(0));		
 			
 			if(eomiFlag) {			
 				morphAnal.analysisWithEomi(stem,eomi,candidates);
 			}			
 			
-			if(eomiFlag&&feature[SyllableUtil.IDX_EOMI2]=='0') eomiFlag = false;
+			if(eomiFlag&&!SyllableUtil.hasFeature(feature, SyllableUtil.IDX_EOMI2)) eomiFlag = false;
 			
 			if(!eomiFlag) break;
 		}
@@ -417,8 +452,8 @@ public class WordSpaceAnalyzer {
 		// 조사의 2음절로 사용될 수 마지막 음절을 찾는다.
 		int start = 0;
 		for(int i=1;i<tail.length();i++) {
-			char[] f = SyllableUtil.getFeature(tail.charAt(i));	
-			if(f[SyllableUtil.IDX_EOGAN]=='0') break;
+			long f = SyllableUtil.featureMask(tail.charAt(i));	
+			if(!SyllableUtil.hasFeature(f, SyllableUtil.IDX_EOGAN)) break;
 			start = i;				
 		}
 					
@@ -465,7 +500,7 @@ public class WordSpaceAnalyzer {
 		
 		int nEnd = output.getLastEnd()+o.getSource().length();
 		
-		char[] f = nEnd<input.length() ? SyllableUtil.getFeature(input.charAt(nEnd)) : null;			
+		long f = nEnd<input.length() ? SyllableUtil.featureMask(input.charAt(nEnd)) : 0;			
 		
 		// 밥먹고 같은 경우가 가능하나.. 먹고는 명사가 아니다.
 		if(po!=null&&po.getPatn()==PatternConstants.PTN_N&&candidates.size()>0&&  
@@ -481,11 +516,11 @@ public class WordSpaceAnalyzer {
 		if(o.getPos()==PatternConstants.POS_NOUN && MorphUtil.hasVerbOnly(o.getStem())) {		
 			output.removeLast();		
 			return -1;
-		}else if(nEnd<input.length() && f[SyllableUtil.IDX_JOSA1]=='1' 
+		}else if(nEnd<input.length() && SyllableUtil.hasFeature(f, SyllableUtil.IDX_JOSA1) 
 			&& DictionaryUtil.getNoun(o.getSource())!=null) {
 			return -1;
 		}else if(nEnd<input.length() && o.getScore()==AnalysisOutput.SCORE_ANALYSIS 
-			&& DictionaryUtil.findWithPrefix(ejend+input.charAt(nEnd)).hasNext()) { // 루씬하ㄴ 글형태소분석기 방지
+			&& DictionaryUtil.hasPrefix(ejend+input.charAt(nEnd))) { // 루씬하ㄴ 글형태소분석기 방지
 			return -1;	
 		}else if(po!=null&&po.getPatn()==PatternConstants.PTN_VM&&"ㅁ".equals(po.getEomi())&&
 				o.getStem().equals("하")) { // 다짐 합니다 로 분리되는 것 방지
@@ -557,8 +592,8 @@ public class WordSpaceAnalyzer {
 		if(str.length()<es) return false;
 				
 		for(int i=es;i<str.length();i++) {
-			char[] f = SyllableUtil.getFeature(str.charAt(i));	
-			if(i==str.length() || (f[SyllableUtil.IDX_JOSA1]=='1')) {				
+			long f = SyllableUtil.featureMask(str.charAt(i));	
+			if(i==str.length() || (SyllableUtil.hasFeature(f, SyllableUtil.IDX_JOSA1))) {				
 				return (DictionaryUtil.getWord(str.substring(ws,i))!=null);
 			}
 		}
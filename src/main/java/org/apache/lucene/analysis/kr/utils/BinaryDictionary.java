@@ -0,0 +1,282 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.lucene.analysis.kr.morph.MorphException;
+import org.apache.lucene.analysis.kr.morph.WordEntry;
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.store.ByteArrayDataInput;
+import org.apache.lucene.store.DataInput;
+import org.apache.lucene.store.DataOutput;
+
+/**
+ * All the dictionaries compiled into a single binary image.
+ * <p>
+ *
+ * The image is written at build time by {@link DictionaryCompiler} and
+ * bundled in the jar, so that the text dictionaries do not have to be
+ * parsed line by line on every node. It is read in one pass the first time
+ * any of the dictionaries is needed; {@link DictionaryUtil},
+ * {@link SyllableUtil} and {@link HanjaUtils} fall back to the text
+ * dictionaries when no image is configured.
+ * <p>
+ *
+ * The image starts with a codec header and the checksum of the text
+ * dictionaries it was compiled from, followed by the sections in a fixed
+ * order: words, syllable features, josa/eomi/prefix/suffix lists,
+ * uncompounds, cj words and hanja readings.
+ */
+public class BinaryDictionary {
+
+	static final String CODEC = "KoreanDictionary";
+
+	static final int VERSION_START = 0;
+
+	/** 단어특성을 long 으로 저장한다. */
+	static final int VERSION_PACKED_FEATURES = 1;
+
+	static final int VERSION_CURRENT = VERSION_PACKED_FEATURES;
+
+	/**
+	 * 텍스트 사전의 목록, 체크섬을 계산하는 순서이기도 하다.
+	 */
+	static final String[] SOURCES = new String[] { KoreanEnv.FILE_DICTIONARY,
+			KoreanEnv.FILE_EXTENSION, KoreanEnv.FILE_COMPOUNDS,
+			KoreanEnv.FILE_UNCOMPOUNDS, KoreanEnv.FILE_SYLLABLE_FEATURE,
+			KoreanEnv.FILE_JOSA, KoreanEnv.FILE_EOMI, KoreanEnv.FILE_PREFIX,
+			KoreanEnv.FILE_SUFFIX, KoreanEnv.FILE_CJ, KoreanEnv.FILE_HANJA };
+
+	/**
+	 * 단어 목록 형태의 사전
+	 */
+	static final String[] WORD_LISTS = new String[] { KoreanEnv.FILE_JOSA,
+			KoreanEnv.FILE_EOMI, KoreanEnv.FILE_PREFIX, KoreanEnv.FILE_SUFFIX };
+
+	private static BinaryDictionary instance;
+
+	private static boolean loaded = false;
+
+	private final long checksum;
+
+	private final WordDictionary words;
+
+	private final long[] syllables;
+
+	private final Map<String, List<String>> wordLists;
+
+	private final HashMap<String, WordEntry> uncompounds;
+
+	private final HashMap<String, String> cjwords;
+
+	private final Map<String, char[]> hanja;
+
+	BinaryDictionary(long checksum, WordDictionary words, long[] syllables,
+			Map<String, List<String>> wordLists,
+			HashMap<String, WordEntry> uncompounds,
+			HashMap<String, String> cjwords, Map<String, char[]> hanja) {
+		this.checksum = checksum;
+		this.words = words;
+		this.syllables = syllables;
+		this.wordLists = wordLists;
+		this.uncompounds = uncompounds;
+		this.cjwords = cjwords;
+		this.hanja = hanja;
+	}
+
+	/**
+	 * Returns the image configured in korean.properties, or null if there is
+	 * none and the text dictionaries have to be used.
+	 * <p>
+	 *
+	 * The image is not compared with the text dictionaries here, that would
+	 * read all of them on every node. The image is compiled from them by the
+	 * build, and BinaryDictionaryTest fails when the two differ.
+	 */
+	public static synchronized BinaryDictionary getInstance()
+			throws MorphException {
+
+		if (loaded)
+			return instance;
+
+		String path = KoreanEnv.getInstance().getValue(KoreanEnv.FILE_BINARY);
+		if (path != null && path.trim().length() > 0
+				&& FileUtil.exists(path.trim())) {
+			try {
+				byte[] bytes = FileUtil.readByte(path.trim());
+				instance = read(new ByteArrayDataInput(bytes));
+			} catch (IOException e) {
+				throw new MorphException("Failure while reading dictionary image "
+						+ path, e);
+			}
+		}
+
+		loaded = true;
+		return instance;
+	}
+
+	/**
+	 * Reads an image written by {@link #save(DataOutput)}.
+	 */
+	public static BinaryDictionary read(DataInput in) throws IOException {
+
+		CodecUtil.checkHeader(in, CODEC, VERSION_PACKED_FEATURES, VERSION_CURRENT);
+		long checksum = in.readLong();
+
+		WordDictionary words = WordDictionary.read(in);
+
+		long[] syllables = new long[in.readVInt()];
+		for (int i = 0; i < syllables.length; i++) {
+			syllables[i] = in.readLong();
+		}
+
+		Map<String, List<String>> wordLists = new HashMap<String, List<String>>();
+		for (String dic : WORD_LISTS) {
+			int size = in.readVInt();
+			List<String> list = new ArrayList<String>(size);
+			for (int i = 0; i < size; i++) {
+				list.add(in.readString());
+			}
+			wordLists.put(dic, list);
+		}
+
+		int size = in.readVInt();
+		HashMap<String, WordEntry> uncompounds = new HashMap<String, WordEntry>(size);
+		for (int i = 0; i < size; i++) {
+			WordEntry entry = new WordEntry(in.readString(), in.readLong());
+			entry.setCompounds(WordDictionary.readCompounds(in));
+			uncompounds.put(entry.getWord(), entry);
+		}
+
+		size = in.readVInt();
+		HashMap<String, String> cjwords = new HashMap<String, String>(size);
+		for (int i = 0; i < size; i++) {
+			cjwords.put(in.readString(), in.readString());
+		}
+
+		size = in.readVInt();
+		Map<String, char[]> hanja = new HashMap<String, char[]>(size);
+		for (int i = 0; i < size; i++) {
+			hanja.put(in.readString(), in.readString().toCharArray());
+		}
+
+		return new BinaryDictionary(checksum, words, syllables, wordLists,
+				uncompounds, cjwords, hanja);
+	}
+
+	/**
+	 * Writes the image. The order of the sections must match
+	 * {@link #read(DataInput)}.
+	 */
+	public void save(DataOutput out) throws IOException {
+
+		CodecUtil.writeHeader(out, CODEC, VERSION_CURRENT);
+		out.writeLong(checksum);
+
+		words.save(out);
+
+		out.writeVInt(syllables.length);
+		for (long mask : syllables) {
+			out.writeLong(mask);
+		}
+
+		for (String dic : WORD_LISTS) {
+			List<String> list = wordLists.get(dic);
+			out.writeVInt(list.size());
+			for (String word : list) {
+				out.writeString(word);
+			}
+		}
+
+		out.writeVInt(uncompounds.size());
+		for (WordEntry entry : uncompounds.values()) {
+			out.writeString(entry.getWord());
+			out.writeLong(entry.getFeatureBits());
+			WordDictionary.writeCompounds(out, entry.getCompounds());
+		}
+
+		out.writeVInt(cjwords.size());
+		for (Map.Entry<String, String> e : cjwords.entrySet()) {
+			out.writeString(e.getKey());
+			out.writeString(e.getValue());
+		}
+
+		out.writeVInt(hanja.size());
+		for (Map.Entry<String, char[]> e : hanja.entrySet()) {
+			out.writeString(e.getKey());
+			out.writeString(new String(e.getValue()));
+		}
+	}
+
+	/**
+	 * Computes the checksum of the text dictionaries configured in
+	 * korean.properties. Only the compiler and the tests need it, every text
+	 * dictionary is read.
+	 */
+	public static long computeChecksum() throws MorphException {
+		CRC32 crc = new CRC32();
+		try {
+			for (String dic : SOURCES) {
+				crc.update(FileUtil.readByte(KoreanEnv.getInstance().getValue(dic)));
+			}
+		} catch (IOException e) {
+			throw new MorphException(e.getMessage(), e);
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Returns the checksum of the text dictionaries this image was compiled
+	 * from.
+	 */
+	public long getChecksum() {
+		return checksum;
+	}
+
+	public WordDictionary getWords() {
+		return words;
+	}
+
+	/**
+	 * Returns the syllable features, one bit per feature index.
+	 */
+	public long[] getSyllables() {
+		return syllables;
+	}
+
+	public List<String> getWordList(String dic) {
+		return wordLists.get(dic);
+	}
+
+	public HashMap<String, WordEntry> getUncompounds() {
+		return uncompounds;
+	}
+
+	public HashMap<String, String> getCJWords() {
+		return cjwords;
+	}
+
+	public Map<String, char[]> getHanja() {
+		return hanja;
+	}
+}
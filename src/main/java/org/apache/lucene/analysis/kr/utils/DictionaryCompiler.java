@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.store.OutputStreamDataOutput;
+
+/**
+ * Compiles the text dictionaries configured in korean.properties into a
+ * {@link BinaryDictionary} image. It is run by the build, see pom.xml.
+ *
+ * <pre>
+ * java org.apache.lucene.analysis.kr.utils.DictionaryCompiler &lt;output file&gt;
+ * </pre>
+ */
+public class DictionaryCompiler {
+
+	public static BinaryDictionary compile() throws Exception {
+
+		Map<String, List<String>> wordLists = new HashMap<String, List<String>>();
+		for (String dic : BinaryDictionary.WORD_LISTS) {
+			wordLists.put(dic, DictionaryUtil.readWordList(dic));
+		}
+
+		return new BinaryDictionary(BinaryDictionary.computeChecksum(),
+				DictionaryUtil.readDictionary(),
+				SyllableUtil.readSyllableMasks(), wordLists,
+				DictionaryUtil.readUncompounds(), DictionaryUtil.readCJWords(),
+				HanjaUtils.readDictionary());
+	}
+
+	public static void main(String[] args) throws Exception {
+
+		if (args.length != 1) {
+			System.err.println("Usage: DictionaryCompiler <output file>");
+			System.exit(1);
+		}
+
+		File file = new File(args[0]);
+		if (file.getParentFile() != null)
+			file.getParentFile().mkdirs();
+
+		BinaryDictionary dic = compile();
+
+		OutputStream os = new BufferedOutputStream(new FileOutputStream(file));
+		try {
+			dic.save(new OutputStreamDataOutput(os));
+		} finally {
+			os.close();
+		}
+
+		System.out.println("Compiled " + file + " (" + file.length()
+				+ " bytes)");
+	}
+}
@@ -22,21 +22,22 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
+import org.apache.lucene.analysis.kr.morph.AnalysisCache;
 import org.apache.lucene.analysis.kr.morph.CompoundEntry;
 import org.apache.lucene.analysis.kr.morph.MorphException;
 import org.apache.lucene.analysis.kr.morph.WordEntry;
 
 public class DictionaryUtil {
 	
-	private static Trie<String,WordEntry> dictionary;
+	private static WordDictionary dictionary;
 	
-	private static HashMap josas;
+	private static volatile SuffixAutomaton josas;
 	
-	private static HashMap eomis;
+	private static volatile SuffixAutomaton eomis;
 	
-	private static HashMap prefixs;
+	private static volatile HashMap prefixs;
 	
-	private static HashMap suffixs;
+	private static volatile HashMap suffixs;
 	
 	private static HashMap<String,WordEntry> uncompounds;
 	
@@ -47,7 +48,25 @@ public class DictionaryUtil {
 	 */
 	public synchronized static void loadDictionary() throws MorphException {
 		
-		dictionary = new Trie<String, WordEntry>(true);
+		boolean reload = dictionary!=null;
+		
+		BinaryDictionary image = BinaryDictionary.getInstance();
+		if(image!=null) {
+			dictionary = image.getWords();
+		} else {
+			dictionary = readDictionary();
+		}
+		
+		// 이전 사전으로 분석한 결과는 버린다. 처음 읽을 때는 캐시에 미리 넣어 둔
+		// 스냅샷이 같은 사전으로 분석한 것이므로 지우지 않는다.
+		if(reload) AnalysisCache.clearAll();
+	}
+	
+	/**
+	 * 텍스트 사전을 읽어서 사전을 만든다.
+	 */
+	static WordDictionary readDictionary() throws MorphException {
+		
 		List<String> strList = null;
 		List<String> compounds = null;
 		try {
@@ -61,6 +80,7 @@ public class DictionaryUtil {
 		}
 		if(strList==null) throw new MorphException("dictionary is null");;
 		
+		List<WordEntry> entries = new ArrayList<WordEntry>(strList.size()+compounds.size());
 		for(String str:strList) {
 			String[] infos = StringUtil.split(str,",");
 			if(infos.length!=2) continue;
@@ -68,7 +88,7 @@ public class DictionaryUtil {
 			if(infos[1].length()==6) infos[1] = infos[1].substring(0,5)+"000"+infos[1].substring(5);
 			
 			WordEntry entry = new WordEntry(infos[0].trim(),infos[1].trim().toCharArray());
-			dictionary.add(entry.getWord(), entry);
+			entries.add(entry);
 		}
 		
 		for(String compound: compounds) {		
@@ -76,8 +96,10 @@ public class DictionaryUtil {
 			if(infos.length!=2) continue;
 			WordEntry entry = new WordEntry(infos[0].trim(),"20000000X".toCharArray());
 			entry.setCompounds(compoundArrayToList(infos[1], StringUtil.split(infos[1],",")));
-			dictionary.add(entry.getWord(), entry);
+			entries.add(entry);
 		}
+		
+		return WordDictionary.build(entries);
 	}
 	
 	public static Iterator findWithPrefix(String prefix) throws MorphException {
@@ -85,19 +107,62 @@ public class DictionaryUtil {
 		return dictionary.getPrefixedBy(prefix);
 	}
 
+	/**
+	 * buf 의 off 부터 len 개의 문자로 시작하는 사전 단어가 있는지 확인한다.
+	 * findWithPrefix(prefix).hasNext() 와 같으나 객체를 만들지 않는다.
+	 * @param buf
+	 * @param off
+	 * @param len
+	 * @return
+	 * @throws MorphException
+	 */
+	public static boolean hasPrefix(char[] buf, int off, int len) throws MorphException {
+		if(dictionary==null) loadDictionary();
+		return dictionary.hasPrefix(buf, off, len);
+	}
+	
+	/**
+	 * text 의 off 부터 len 개의 문자로 시작하는 사전 단어가 있는지 확인한다.
+	 */
+	public static boolean hasPrefix(String text, int off, int len) throws MorphException {
+		if(dictionary==null) loadDictionary();
+		return dictionary.hasPrefix(text, off, len);
+	}
+	
+	/**
+	 * prefix 로 시작하는 사전 단어가 있는지 확인한다.
+	 */
+	public static boolean hasPrefix(String prefix) throws MorphException {
+		return hasPrefix(prefix, 0, prefix.length());
+	}
+	
+	/**
+	 * buf 의 off 위치에서 시작하는 사전 단어를 짧은 것부터 모두 찾는다.
+	 * 사전을 한 번만 탐색하므로 부분 문자열마다 getWord 를 부르는 것보다 빠르다.
+	 * @param buf
+	 * @param off	단어의 시작위치
+	 * @param len	off 부터 찾을 수 있는 최대 길이
+	 * @return
+	 * @throws MorphException
+	 */
+	public static List<WordEntry> commonPrefixSearch(char[] buf, int off, int len) throws MorphException {
+		if(dictionary==null) loadDictionary();
+		return dictionary.commonPrefixSearch(buf, off, len);
+	}
+
 	public static WordEntry getWord(String key) throws MorphException {		
 		if(dictionary==null) loadDictionary();
 		if(key.length()==0) return null;
 		
-		return (WordEntry)dictionary.get(key);
+		return dictionary.get(key);
 	}
 	
 	public static WordEntry getWordExceptVerb(String key) throws MorphException {		
 		WordEntry entry = getWord(key);		
 		if(entry==null) return null;
 		
-		if(entry.getFeature(WordEntry.IDX_NOUN)=='1'||
-				entry.getFeature(WordEntry.IDX_BUSA)=='1') return entry;
+		if(entry.isNoun()||
+				entry.isBusa()) return entry;
 		return null;
 	}
 	
@@ -106,7 +171,7 @@ public class DictionaryUtil {
 		WordEntry entry = getWord(key);
 		if(entry==null) return null;
 		
-		if(entry.getFeature(WordEntry.IDX_NOUN)=='1') return entry;
+		if(entry.isNoun()) return entry;
 		return null;
 	}
 	
@@ -115,7 +180,7 @@ public class DictionaryUtil {
 		WordEntry entry = getWord(key);
 		if(entry==null) return null;
 
-		if(entry.getFeature(WordEntry.IDX_NOUN)=='1' || entry.getFeature(WordEntry.IDX_NOUN)=='2') return entry;
+		if(entry.isNoun() || entry.isCompoundNoun()) return entry;
 		return null;
 	}
 	
@@ -124,7 +189,7 @@ public class DictionaryUtil {
 		WordEntry entry = getWord(key);	
 		if(entry==null) return null;
 
-		if(entry.getFeature(WordEntry.IDX_VERB)=='1') {
+		if(entry.isVerb()) {
 			return entry;
 		}
 		return null;
@@ -134,7 +199,7 @@ public class DictionaryUtil {
 		WordEntry entry = getWord(key);
 		if(entry==null) return null;
 
-		if(entry.getFeature(WordEntry.IDX_BUSA)=='1') return entry;
+		if(entry.isBusa()) return entry;
 		return null;
 	}
 	
@@ -142,7 +207,7 @@ public class DictionaryUtil {
 		WordEntry entry = getWord(key);
 		if(entry==null) return null;
 
-		if(entry.getFeature(WordEntry.IDX_BUSA)=='1'&&entry.getFeature(WordEntry.IDX_NOUN)=='0') return entry;
+		if(entry.isBusa()&&entry.getFeature(WordEntry.IDX_NOUN)=='0') return entry;
 		return null;
 	}
 	
@@ -150,8 +215,8 @@ public class DictionaryUtil {
 		WordEntry entry = getWord(key);
 		if(entry==null) return null;
 
-		if(entry.getFeature(WordEntry.IDX_VERB)=='1'&&
-				entry.getFeature(WordEntry.IDX_REGURA)==irrType) return entry;
+		if(entry.isVerb()&&
+				entry.getIrregularType()==irrType) return entry;
 		return null;
 	}
 	
@@ -159,7 +224,7 @@ public class DictionaryUtil {
 		WordEntry entry = getWord(key);
 		if(entry==null) return null;
 		
-		if(entry.getFeature(WordEntry.IDX_BEV)=='1') return entry;
+		if(entry.isBev()) return entry;
 		return null;
 	}
 	
@@ -167,72 +232,102 @@ public class DictionaryUtil {
 		WordEntry entry = getWord(key);
 		if(entry==null) return null;
 		
-		if(entry.getFeature(WordEntry.IDX_DOV)=='1') return entry;
+		if(entry.isDov()) return entry;
 		return null;
 	}
 	
 	public static WordEntry getUncompound(String key) throws MorphException {
 		
+		if(uncompounds==null) {
+			BinaryDictionary image = BinaryDictionary.getInstance();
+			uncompounds = image!=null ? image.getUncompounds() : readUncompounds();
+		}
+		return uncompounds.get(key);
+	}
+	
+	static HashMap<String,WordEntry> readUncompounds() throws MorphException {
+		
+		HashMap<String,WordEntry> map = new HashMap();
 		try {
-			if(uncompounds==null) {
-				uncompounds = new HashMap();
-				List<String> lines = FileUtil.readLines(KoreanEnv.getInstance().getValue(KoreanEnv.FILE_UNCOMPOUNDS),"UTF-8");	
-				for(String compound: lines) {		
-					String[] infos = StringUtil.split(compound,":");
-					if(infos.length!=2) continue;
-					WordEntry entry = new WordEntry(infos[0].trim(),"90000X".toCharArray());
-					entry.setCompounds(compoundArrayToList(infos[1], StringUtil.split(infos[1],",")));
-					uncompounds.put(entry.getWord(), entry);
-				}			
-			}	
+			List<String> lines = FileUtil.readLines(KoreanEnv.getInstance().getValue(KoreanEnv.FILE_UNCOMPOUNDS),"UTF-8");	
+			for(String compound: lines) {		
+				String[] infos = StringUtil.split(compound,":");
+				if(infos.length!=2) continue;
+				WordEntry entry = new WordEntry(infos[0].trim(),"90000X".toCharArray());
+				entry.setCompounds(compoundArrayToList(infos[1], StringUtil.split(infos[1],",")));
+				map.put(entry.getWord(), entry);
+			}			
 		}catch(Exception e) {
 			throw new MorphException(e);
 		}
-		return uncompounds.get(key);
+		return map;
 	}
 	
 	public static String getCJWord(String key) throws MorphException {
 		
+		if(cjwords==null) {
+			BinaryDictionary image = BinaryDictionary.getInstance();
+			cjwords = image!=null ? image.getCJWords() : readCJWords();
+		}
+		return cjwords.get(key);
+		
+	}
+	
+	static HashMap<String, String> readCJWords() throws MorphException {
+		
+		HashMap<String, String> map = new HashMap();
 		try {
-			if(cjwords==null) {
-				cjwords = new HashMap();
-				List<String> lines = FileUtil.readLines(KoreanEnv.getInstance().getValue(KoreanEnv.FILE_CJ),"UTF-8");	
-				for(String cj: lines) {		
-					String[] infos = StringUtil.split(cj,":");
-					if(infos.length!=2) continue;
-					cjwords.put(infos[0], infos[1]);
-				}			
-			}	
+			List<String> lines = FileUtil.readLines(KoreanEnv.getInstance().getValue(KoreanEnv.FILE_CJ),"UTF-8");	
+			for(String cj: lines) {		
+				String[] infos = StringUtil.split(cj,":");
+				if(infos.length!=2) continue;
+				map.put(infos[0], infos[1]);
+			}			
 		}catch(Exception e) {
 			throw new MorphException(e);
 		}
-		return cjwords.get(key);
-		
+		return map;
 	}
 	
 	public static boolean existJosa(String str) throws MorphException {
-		if(josas==null) {
-			josas = new HashMap();
-			readFile(josas,KoreanEnv.FILE_JOSA);
-		}	
-		if(josas.get(str)==null) return false;
-		else return true;
+		return getJosaAutomaton().contains(str);
 	}
 	
 	public static boolean existEomi(String str)  throws MorphException {
+		return getEomiAutomaton().contains(str);
+	}
+	
+	/**
+	 * c+str 이 어미인지 문자열을 만들지 않고 확인한다.
+	 */
+	public static boolean existEomi(char c, String str)  throws MorphException {
+		return getEomiAutomaton().contains(c, str);
+	}
+	
+	/**
+	 * 조사를 뒤에서부터 읽는 오토마타, 어절을 한번 거꾸로 읽어서 어절이 끝나는 조사를 모두 찾는다.
+	 */
+	public static SuffixAutomaton getJosaAutomaton() throws MorphException {
+		if(josas==null) {
+			josas = readAutomaton(KoreanEnv.FILE_JOSA);
+		}
+		return josas;
+	}
+	
+	/**
+	 * 어미를 뒤에서부터 읽는 오토마타
+	 * @see #getJosaAutomaton()
+	 */
+	public static SuffixAutomaton getEomiAutomaton() throws MorphException {
 		if(eomis==null) {
-			eomis = new HashMap();
-			readFile(eomis,KoreanEnv.FILE_EOMI);
+			eomis = readAutomaton(KoreanEnv.FILE_EOMI);
 		}
-
-		if(eomis.get(str)==null) return false;
-		else return true;
+		return eomis;
 	}
 	
 	public static boolean existPrefix(String str)  throws MorphException {
 		if(prefixs==null) {
-			prefixs = new HashMap();
-			readFile(prefixs,KoreanEnv.FILE_PREFIX);
+			prefixs = readFile(KoreanEnv.FILE_PREFIX);
 		}
 
 		if(prefixs.get(str)==null) return false;
@@ -241,8 +336,7 @@ public class DictionaryUtil {
 	
 	public static boolean existSuffix(String str)  throws MorphException {
 		if(suffixs==null) {
-			suffixs = new HashMap();
-			readFile(suffixs,KoreanEnv.FILE_SUFFIX);
+			suffixs = readFile(KoreanEnv.FILE_SUFFIX);
 		}
 
 		if(suffixs.get(str)!=null) return true;
@@ -260,33 +354,58 @@ public class DictionaryUtil {
 	
 		if(eomi==null) eomi="";
 
-		if(s=='ㄴ') eomi = "은"+eomi;
-		else if(s=='ㄹ') eomi = "을"+eomi;
-		else if(s=='ㅁ') eomi = "음"+eomi;
-		else if(s=='ㅂ') eomi = "습"+eomi;
-		else eomi = s+eomi;
+		char c = s;
+		if(s=='ㄴ') c = '은';
+		else if(s=='ㄹ') c = '을';
+		else if(s=='ㅁ') c = '음';
+		else if(s=='ㅂ') c = '습';
 
-		if(existEomi(eomi)) return eomi;		
+		if(existEomi(c, eomi)) return c+eomi;		
 
 		return null;
 		
 	}
 	
 	/**
-	 * 
-	 * @param map
-	 * @param type	1: josa, 2: eomi
+	 * 다 채운 다음에 필드에 넣어야 다른 쓰레드가 비어 있는 맵을 보지 않는다.
+	 * @param dic
+	 * @throws MorphException
+	 */
+	private static synchronized HashMap readFile(String dic) throws MorphException {		
+		
+		BinaryDictionary image = BinaryDictionary.getInstance();
+		List<String> words = image!=null ? image.getWordList(dic) : readWordList(dic);
+		
+		HashMap map = new HashMap();
+		for(String word : words) {
+			map.put(word, word);
+		}
+		return map;
+	}
+	
+	private static synchronized SuffixAutomaton readAutomaton(String dic) throws MorphException {
+		
+		BinaryDictionary image = BinaryDictionary.getInstance();
+		return new SuffixAutomaton(image!=null ? image.getWordList(dic) : readWordList(dic));
+	}
+	
+	/**
+	 * 첫 줄을 제외한 사전의 단어 목록을 읽는다.
+	 * @param dic
+	 * @return
 	 * @throws MorphException
 	 */
-	private static synchronized void readFile(HashMap map, String dic) throws MorphException {		
+	static List<String> readWordList(String dic) throws MorphException {
 		
 		String path = KoreanEnv.getInstance().getValue(dic);
 
 		try{
 			List<String> line = FileUtil.readLines(path,"UTF-8");
+			List<String> words = new ArrayList<String>(line.size());
 			for(int i=1;i<line.size();i++) {
-				map.put(line.get(i).trim(), line.get(i));
+				words.add(line.get(i).trim());
 			}
+			return words;
 		}catch(IOException e) {
  		    throw new MorphException(e.getMessage(),e);
 		} catch (Exception e) {
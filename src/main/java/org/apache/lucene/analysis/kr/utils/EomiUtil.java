@@ -48,7 +48,7 @@ public class EomiUtil {
 		
 		String stem;
 		String eomi;
-		char[] efeature;
+		long efeature;
 		
 		for(int i=term.length();i>0;i--) {
 			
@@ -56,9 +56,9 @@ public class EomiUtil {
 		
 			if(i!=term.length()) {
 				eomi = term.substring(i);
-				efeature  = SyllableUtil.getFeature(eomi.charAt(0));				
+				efeature  = SyllableUtil.featureMask(eomi.charAt(0));				
 			} else {
-				efeature = SyllableUtil.getFeature(stem.charAt(i-1));
+				efeature = SyllableUtil.featureMask(stem.charAt(i-1));
 				eomi="";
 			}
 
@@ -107,7 +107,7 @@ public class EomiUtil {
 				else result[0] = stem.substring(0,stem.length()-1)+end;
 				result[1] = eomi;	
 				
-			}else if(efeature!=null&&efeature[SyllableUtil.IDX_EOMI1]!='0'&&
+			}else if(SyllableUtil.hasFeature(efeature, SyllableUtil.IDX_EOMI1)&&
 				DictionaryUtil.existEomi(eomi)) {
 				if(!(((jasos.length==2&&jasos[0]=='ㄹ')||(jasos.length==3&&jasos[2]=='ㄹ'))&&eomi.equals("러"))) { // ㄹ 불규칙은 예외
 					result[0] = stem;
@@ -115,7 +115,7 @@ public class EomiUtil {
 				}
 			}
 
-			if(efeature!=null&&efeature[SyllableUtil.IDX_EOMI2]=='0') break;
+			if(!SyllableUtil.hasFeature(efeature, SyllableUtil.IDX_EOMI2)) break;
 		}	
 
 		return result;
@@ -564,18 +564,18 @@ public class EomiUtil {
 	 */
 	public static boolean IsNLMBSyl(char ech, char lch) throws MorphException {
 	
-		char[] features = SyllableUtil.getFeature(ech);
+		long features = SyllableUtil.featureMask(ech);
 
 		switch(lch) {
 
 			case 'ㄴ' :
-				return (features[SyllableUtil.IDX_YNPNA]=='1' || features[SyllableUtil.IDX_YNPLN]=='1');				
+				return (SyllableUtil.hasFeature(features, SyllableUtil.IDX_YNPNA) || SyllableUtil.hasFeature(features, SyllableUtil.IDX_YNPLN));				
 			case 'ㄹ' :
-				return (features[SyllableUtil.IDX_YNPLA]=='1');
+				return (SyllableUtil.hasFeature(features, SyllableUtil.IDX_YNPLA));
 			case 'ㅁ' :
-				return (features[SyllableUtil.IDX_YNPMA]=='1');		
+				return (SyllableUtil.hasFeature(features, SyllableUtil.IDX_YNPMA));		
 			case 'ㅂ' :
-				return (features[SyllableUtil.IDX_YNPBA]=='1');					
+				return (SyllableUtil.hasFeature(features, SyllableUtil.IDX_YNPBA));					
 		}
 	
 		return false;
@@ -611,15 +611,15 @@ public class EomiUtil {
 			strs[1] = Character.toString(chrs[2]);
 			if(end.length()>0) strs[1] += end;
 			strs[0] = stem.substring(0,strlen-1) + MorphUtil.makeChar(estem, 0);	
-		} else if(estem=='해'&&DictionaryUtil.existEomi("어"+end)) {			
+		} else if(estem=='해'&&DictionaryUtil.existEomi('어', end)) {			
 			strs[0] = stem.substring(0,strlen-1)+"하";
 			strs[1] = "어"+end;	
-		} else if(estem=='히'&&DictionaryUtil.existEomi("이"+end)) {			
+		} else if(estem=='히'&&DictionaryUtil.existEomi('이', end)) {			
 			strs[0] = stem.substring(0,strlen-1)+"하";
 			strs[1] = "이"+end;				
 		} else if(chrs[0]!='ㅇ'&&
 				(chrs[1]=='ㅏ'||chrs[1]=='ㅓ'||chrs[1]=='ㅔ'||chrs[1]=='ㅐ')&&
-				(chrs.length==2 || SyllableUtil.getFeature(estem)[SyllableUtil.IDX_YNPAH]=='1')&&
+				(chrs.length==2 || SyllableUtil.hasFeature(estem, SyllableUtil.IDX_YNPAH))&&
 				(DictionaryUtil.combineAndEomiCheck('어', end)!=null)) {		
 		
 			strs[0] = stem;
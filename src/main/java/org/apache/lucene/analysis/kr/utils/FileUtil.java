@@ -19,6 +19,7 @@ package org.apache.lucene.analysis.kr.utils;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -135,6 +136,51 @@ public class FileUtil {
 		}
 	}
 
+	/**
+	 * Reads the whole contents of a file that is located somewhere in the
+	 * application classpath or in the current jar.
+	 * 
+	 * @param fName
+	 *            the name of the file (relative to the classpath)
+	 * @return the contents of the file, never <code>null</code>
+	 * @throws MorphException
+	 * @throws IOException
+	 *             in case of an I/O error
+	 */
+	public static byte[] readByte(String fName) throws MorphException,
+			IOException {
+		File file = getClassLoaderFile(fName);
+		if (file == null || !file.exists())
+			return readByteFromCurrentJar(fName);
+
+		InputStream in = null;
+		try {
+			in = openInputStream(file);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(
+					(int) file.length());
+			byte[] buffer = new byte[8192];
+			int n;
+			while ((n = in.read(buffer)) != -1) {
+				out.write(buffer, 0, n);
+			}
+			return out.toByteArray();
+		} finally {
+			closeQuietly(in);
+		}
+	}
+
+	/**
+	 * Checks whether a file can be found in the application classpath.
+	 * 
+	 * @param fName
+	 *            the name of the file (relative to the classpath)
+	 */
+	public static boolean exists(String fName) {
+		ClassLoader loader = FileUtil.class.getClassLoader();
+		return loader.getResource(fName) != null
+				|| ClassLoader.getSystemResource(fName) != null;
+	}
+
 	// -----------------------------------------------------------------------
 	/**
 	 * Opens a {@link FileInputStream} for the specified file, providing better
@@ -25,14 +25,27 @@ import java.util.Map;
 
 import org.apache.lucene.analysis.kr.morph.MorphException;
 
+/**
+ * 한자의 한글 음을 찾는다.
+ * <p>
+ *
+ * 음은 하나의 char[] 에 이어서 저장하고, 한자의 코드값에서 첫번째 한자의
+ * 코드값을 뺀 위치에 그 한자의 음이 시작하는 위치를 둔다. 따라서 음을 찾는
+ * 것은 배열 참조 두 번이고 객체를 만들지 않는다.
+ */
 public class HanjaUtils {
 
-	private static Map<String, char[]> mapHanja;
+	private static volatile Table table;
 	
 	public synchronized static void loadDictionary() throws MorphException {
+		BinaryDictionary image = BinaryDictionary.getInstance();
+		table = new Table(image!=null ? image.getHanja() : readDictionary());
+	}
+	
+	static Map<String, char[]> readDictionary() throws MorphException {
 		try {
-			List<String> strList = FileUtil.readLines("org/apache/lucene/analysis/kr/dic/mapHanja.dic","UTF-8");
-			mapHanja = new HashMap();		
+			List<String> strList = FileUtil.readLines(KoreanEnv.getInstance().getValue(KoreanEnv.FILE_HANJA),"UTF-8");
+			Map<String, char[]> map = new HashMap();		
 		
 			for(int i=0;i<strList.size();i++) {
 				
@@ -45,29 +58,121 @@ public class HanjaUtils {
 				
 				String hanja = StringEscapeUtil.unescapeJava(hanInfos[0]);
 
-				mapHanja.put(hanja, hanInfos[1].toCharArray());
+				map.put(hanja, hanInfos[1].toCharArray());
 			}			
+			return map;
 		} catch (IOException e) {
 			throw new MorphException(e);
 		}
 	}
 	
+	private static Table getTable() throws MorphException {
+		Table t = table;
+		if(t==null) {
+			loadDictionary();
+			t = table;
+		}
+		return t;
+	}
+	
 	/**
 	 * 한자에 대응하는 한글을 찾아서 반환한다.
 	 * 하나의 한자는 여러 음으로 읽일 수 있으므로 가능한 모든 음을 한글로 반환한다.
+	 * 반환할 배열을 새로 만드므로 음이 하나만 필요하면 {@link #toHangul(char)} 를 쓴다.
 	 * @param hanja
 	 * @return
 	 * @throws MorphException
 	 */
     public static char[] convertToHangul(char hanja) throws MorphException {
  
-    	if(mapHanja==null)  loadDictionary();
-
-//		if(hanja>0x9FFF||hanja<0x3400) return new char[]{hanja};
-		
-		char[] result = mapHanja.get(new String(new char[]{hanja}));
-		if(result==null) return new char[]{hanja};
+    	Table t = getTable();
+    	
+		int count = t.count(hanja);
+		if(count==0) return new char[]{hanja};
 		
+		char[] result = new char[count];
+		System.arraycopy(t.readings, t.offsets[hanja-t.base], result, 0, count);
     	return result;
     }
+    
+	/**
+	 * 한자의 첫번째 음을 반환한다. 음을 모르는 글자는 그대로 반환한다.
+	 */
+    public static char toHangul(char hanja) throws MorphException {
+    	
+    	Table t = getTable();
+    	
+    	if(t.count(hanja)==0) return hanja;
+    	return t.readings[t.offsets[hanja-t.base]];
+    }
+    
+	/**
+	 * 한자가 가진 음의 수를 반환한다. 음을 모르면 0 이다.
+	 */
+    public static int getReadingCount(char hanja) throws MorphException {
+    	return getTable().count(hanja);
+    }
+    
+	/**
+	 * 한자의 index 번째 음을 반환한다.
+	 */
+    public static char getReading(char hanja, int index) throws MorphException {
+    	Table t = getTable();
+    	if(index<0||index>=t.count(hanja)) 
+    		throw new IndexOutOfBoundsException(String.valueOf(index));
+    	return t.readings[t.offsets[hanja-t.base]+index];
+    }
+    
+    /**
+     * 첫번째 한자부터 마지막 한자까지의 음의 시작 위치와, 모든 음을 이어 놓은 배열
+     */
+    private static class Table {
+    	
+    	final int base;
+    	
+    	/** 한자 c 의 음은 readings[offsets[c-base]] 부터 readings[offsets[c-base+1]] 전까지 */
+    	final int[] offsets;
+    	
+    	final char[] readings;
+    	
+    	Table(Map<String, char[]> map) {
+    		
+    		int min = Character.MAX_VALUE;
+    		int max = Character.MIN_VALUE;
+    		int total = 0;
+    		for(Map.Entry<String, char[]> e : map.entrySet()) {
+    			if(e.getKey().length()!=1) continue; // 한 글자씩만 찾는다.
+    			char c = e.getKey().charAt(0);
+    			if(c<min) min = c;
+    			if(c>max) max = c;
+    			total += e.getValue().length;
+    		}
+    		if(min>max) min = max = 0;
+    		
+    		int[] counts = new int[max-min+1];
+    		for(Map.Entry<String, char[]> e : map.entrySet()) {
+    			if(e.getKey().length()!=1) continue;
+    			counts[e.getKey().charAt(0)-min] = e.getValue().length;
+    		}
+    		
+    		base = min;
+    		offsets = new int[counts.length+1];
+    		for(int i=0;i<counts.length;i++) {
+    			offsets[i+1] = offsets[i] + counts[i];
+    		}
+    		
+    		readings = new char[total];
+    		for(Map.Entry<String, char[]> e : map.entrySet()) {
+    			if(e.getKey().length()!=1) continue;
+    			char[] value = e.getValue();
+    			System.arraycopy(value, 0, readings, offsets[e.getKey().charAt(0)-min], value.length);
+    		}
+    	}
+    	
+    	int count(char c) {
+    		int i = c - base;
+    		if(i<0||i>=offsets.length-1) return 0;
+    		return offsets[i+1]-offsets[i];
+    	}
+    }
 }
@@ -158,7 +158,7 @@ public class IrregularUtil {
 				start = Character.toString(ch);		
 
 			WordEntry entry = DictionaryUtil.getVerb(start);
-			if(entry!=null&&entry.getFeature(WordEntry.IDX_REGURA)==IRR_TYPE_BIUP)
+			if(entry!=null&&entry.getIrregularType()==IRR_TYPE_BIUP)
 				return new String[]{start,end};			
 		}
 			
@@ -187,7 +187,7 @@ public class IrregularUtil {
 			start = Character.toString(ch);
 		
 		WordEntry entry = DictionaryUtil.getVerb(start);
-		if(entry!=null&&entry.getFeature(WordEntry.IDX_REGURA)==IRR_TYPE_DI)
+		if(entry!=null&&entry.getIrregularType()==IRR_TYPE_DI)
 			return new String[]{start,end};
 		
 		return null;
@@ -214,7 +214,7 @@ public class IrregularUtil {
 			start = Character.toString(ch);
 		
 		WordEntry entry = DictionaryUtil.getVerb(start);
-		if(entry!=null&&entry.getFeature(WordEntry.IDX_REGURA)==IRR_TYPE_SIUT)
+		if(entry!=null&&entry.getIrregularType()==IRR_TYPE_SIUT)
 			return new String[]{start,end};
 
 		return null;
@@ -249,7 +249,7 @@ public class IrregularUtil {
 				sb.append(Character.toString(ch1)).append("르");
 
 			WordEntry entry = DictionaryUtil.getVerb(sb.toString());
-			if(entry!=null&&entry.getFeature(WordEntry.IDX_REGURA)==IRR_TYPE_LOO)
+			if(entry!=null&&entry.getIrregularType()==IRR_TYPE_LOO)
 				return new String[]{sb.toString(),end};		
 			
 		}
@@ -306,7 +306,7 @@ public class IrregularUtil {
 			start = Character.toString(ch2);
 
 		WordEntry entry = DictionaryUtil.getVerb(start);
-		if(entry!=null&&entry.getFeature(WordEntry.IDX_REGURA)==IRR_TYPE_RU)
+		if(entry!=null&&entry.getIrregularType()==IRR_TYPE_RU)
 			return new String[]{start,end};
 		
 		return null;
@@ -340,7 +340,7 @@ public class IrregularUtil {
 			start = Character.toString(ch2);
 
 		WordEntry entry = DictionaryUtil.getVerb(start);
-		if(entry!=null&&entry.getFeature(WordEntry.IDX_REGURA)==IRR_TYPE_HIOOT)
+		if(entry!=null&&entry.getIrregularType()==IRR_TYPE_HIOOT)
 			return new String[]{start,end};
 		
 		return null;
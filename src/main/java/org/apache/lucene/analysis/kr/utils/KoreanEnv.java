@@ -47,6 +47,13 @@ public class KoreanEnv {
 
 	public static final String FILE_CJ = "cj.dic";
 
+	public static final String FILE_HANJA = "hanja.dic";
+
+	/**
+	 * 빌드할 때 모든 사전을 컴파일한 바이너리 사전, 값이 비어 있으면 텍스트 사전을 읽는다.
+	 */
+	public static final String FILE_BINARY = "binary.dic";
+
 	public static final String FILE_KOREAN_PROPERTY = "org/apache/lucene/analysis/kr/korean.properties";
 
 	private Properties defaults = null;
@@ -108,6 +115,10 @@ public class KoreanEnv {
 				"org/apache/lucene/analysis/kr/dic/uncompounds.dic");
 		defaults.setProperty(FILE_CJ,
 				"org/apache/lucene/analysis/kr/dic/cj.dic");
+		defaults.setProperty(FILE_HANJA,
+				"org/apache/lucene/analysis/kr/dic/mapHanja.dic");
+		defaults.setProperty(FILE_BINARY,
+				"org/apache/lucene/analysis/kr/dic/dictionary.bin");
 
 		defaults.setProperty(ENCODING, "UTF-8");
 	}
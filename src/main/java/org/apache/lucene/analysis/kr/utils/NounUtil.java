@@ -189,9 +189,9 @@ public class NounUtil {
 
 			if(entry!=null) {
 				if(entry.getFeature(WordEntry.IDX_NOUN)=='0') return false;
-				else if(o.getVsfx().equals("하")&&entry.getFeature(WordEntry.IDX_DOV)!='1') return false;
-				else if(o.getVsfx().equals("되")&&entry.getFeature(WordEntry.IDX_BEV)!='1') return false;
-				else if(o.getVsfx().equals("내")&&entry.getFeature(WordEntry.IDX_NE)!='1') return false;
+				else if(o.getVsfx().equals("하")&&!entry.isDov()) return false;
+				else if(o.getVsfx().equals("되")&&!entry.isBev()) return false;
+				else if(o.getVsfx().equals("내")&&!entry.isNe()) return false;
 				o.setScore(AnalysisOutput.SCORE_CORRECT); // '입니다'인 경우 인명 등 미등록어가 많이 발생되므로 분석성공으로 가정한다.			
 			}else {
 				o.setScore(AnalysisOutput.SCORE_ANALYSIS); // '입니다'인 경우 인명 등 미등록어가 많이 발생되므로 분석성공으로 가정한다.
@@ -216,9 +216,9 @@ public class NounUtil {
 
 			if(entry!=null) {
 				if(entry.getFeature(WordEntry.IDX_NOUN)=='0') return false;
-				else if(o.getVsfx().equals("하")&&entry.getFeature(WordEntry.IDX_DOV)!='1') return false;
-				else if(o.getVsfx().equals("되")&&entry.getFeature(WordEntry.IDX_BEV)!='1') return false;
-				else if(o.getVsfx().equals("내")&&entry.getFeature(WordEntry.IDX_NE)!='1') return false;
+				else if(o.getVsfx().equals("하")&&!entry.isDov()) return false;
+				else if(o.getVsfx().equals("되")&&!entry.isBev()) return false;
+				else if(o.getVsfx().equals("내")&&!entry.isNe()) return false;
 				o.setScore(AnalysisOutput.SCORE_CORRECT); // '입니다'인 경우 인명 등 미등록어가 많이 발생되므로 분석성공으로 가정한다.			
 			}else {
 				o.setScore(AnalysisOutput.SCORE_ANALYSIS); // '입니다'인 경우 인명 등 미등록어가 많이 발생되므로 분석성공으로 가정한다.
@@ -335,8 +335,8 @@ public class NounUtil {
 			}
 
 			for(int i=1;i<str.length();i++) {		
+				if(!DictionaryUtil.hasPrefix(str, 0, i+1)) break;
 				String sub = str.substring(0,i+1);		
-				if(!DictionaryUtil.findWithPrefix(sub).hasNext()) break;
 				WordEntry entry = DictionaryUtil.getCNoun(sub);	
 				if(entry!=null) {					
 					nList.add(entry);
@@ -361,7 +361,7 @@ public class NounUtil {
 	        
 	        WordEntry cnoun = DictionaryUtil.getCNoun(s);
 	        if(cnoun != null)  {
-	        	if(cnoun.getFeature(WordEntry.IDX_NOUN)=='2')
+	        	if(cnoun.isCompoundNoun())
 	        		output.setCNoun(cnoun.getCompounds());
 	        	else
 	        		output.setCNoun(new ArrayList());
@@ -386,11 +386,11 @@ public class NounUtil {
 				
 				String josa = input.substring(i);
 
-				char[] feature =  SyllableUtil.getFeature(josa.charAt(0));		
+				long feature =  SyllableUtil.featureMask(josa.charAt(0));		
 				if(josaFlag&&DictionaryUtil.existJosa(josa)) return true;
 	
 				
-				if(josaFlag&&feature[SyllableUtil.IDX_JOSA2]=='0') josaFlag = false;				
+				if(josaFlag&&!SyllableUtil.hasFeature(feature, SyllableUtil.IDX_JOSA2)) josaFlag = false;				
 				if(!josaFlag) break;
 			}
 			
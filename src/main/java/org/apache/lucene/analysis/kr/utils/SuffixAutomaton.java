@@ -0,0 +1,192 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A set of words, such as the josa or the eomi dictionary, compiled into a
+ * deterministic automaton that reads the words backwards.
+ * <p>
+ *
+ * Reading a word from its last character means one backward scan over an
+ * eojeol finds every word of the set the eojeol ends with, see
+ * {@link #scan(CharSequence, int[])}. The state reached at each position
+ * also tells whether the rest of the eojeol can still end a word of the
+ * set once more characters are put in front of it.
+ * <p>
+ *
+ * States are numbered in breadth first order, the start state is 0. The
+ * transitions of a state are kept sorted by character in flat arrays.
+ */
+public class SuffixAutomaton {
+
+	/** The state that accepts nothing */
+	public static final int DEAD = -1;
+
+	/** Transitions of state s are first[s] .. first[s+1]-1 */
+	private final int[] first;
+
+	private final char[] labels;
+
+	private final int[] targets;
+
+	private final boolean[] finals;
+
+	private final int size;
+
+	private static class Node {
+		final TreeMap<Character, Node> children = new TreeMap<Character, Node>();
+		boolean isFinal;
+	}
+
+	public SuffixAutomaton(Collection<String> words) {
+
+		Node root = new Node();
+		int transitions = 0;
+		for (String word : words) {
+			Node node = root;
+			for (int i = word.length() - 1; i >= 0; i--) {
+				Character c = Character.valueOf(word.charAt(i));
+				Node next = node.children.get(c);
+				if (next == null) {
+					next = new Node();
+					node.children.put(c, next);
+					transitions++;
+				}
+				node = next;
+			}
+			node.isFinal = true;
+		}
+
+		List<Node> nodes = new ArrayList<Node>();
+		nodes.add(root);
+		for (int i = 0; i < nodes.size(); i++) {
+			nodes.addAll(nodes.get(i).children.values());
+		}
+
+		size = nodes.size();
+		first = new int[size + 1];
+		labels = new char[transitions];
+		targets = new int[transitions];
+		finals = new boolean[size];
+
+		// 너비우선 순서이므로 자식의 번호는 차례로 1 부터 매겨진다.
+		int t = 0;
+		int child = 1;
+		for (int s = 0; s < size; s++) {
+			Node node = nodes.get(s);
+			first[s] = t;
+			finals[s] = node.isFinal;
+			for (Map.Entry<Character, Node> e : node.children.entrySet()) {
+				labels[t] = e.getKey().charValue();
+				targets[t] = child++;
+				t++;
+			}
+		}
+		first[size] = t;
+	}
+
+	/**
+	 * Returns the state reached from state by reading c, which is the
+	 * character in front of what has been read so far, or {@link #DEAD}.
+	 */
+	public int step(int state, char c) {
+		if (state == DEAD)
+			return DEAD;
+
+		int lo = first[state];
+		int hi = first[state + 1] - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			char label = labels[mid];
+			if (label < c)
+				lo = mid + 1;
+			else if (label > c)
+				hi = mid - 1;
+			else
+				return targets[mid];
+		}
+		return DEAD;
+	}
+
+	/**
+	 * Returns whether state accepts, that is whether what has been read is
+	 * a word of the set.
+	 */
+	public boolean isFinal(int state) {
+		return state != DEAD && finals[state];
+	}
+
+	/**
+	 * Returns whether s is a word of the set.
+	 */
+	public boolean contains(CharSequence s) {
+		int state = 0;
+		for (int i = s.length() - 1; i >= 0 && state != DEAD; i--) {
+			state = step(state, s.charAt(i));
+		}
+		return isFinal(state);
+	}
+
+	/**
+	 * Returns whether c followed by s is a word of the set.
+	 */
+	public boolean contains(char c, CharSequence s) {
+		int state = 0;
+		for (int i = s.length() - 1; i >= 0 && state != DEAD; i--) {
+			state = step(state, s.charAt(i));
+		}
+		return isFinal(step(state, c));
+	}
+
+	/**
+	 * Reads s backwards once. states[i] is set to the state reached by
+	 * reading s[i, s.length()), {@link #DEAD} once no word of the set ends
+	 * with it; s[i, s.length()) is a word of the set if
+	 * {@link #isFinal(int) isFinal(states[i])}.
+	 *
+	 * @param states	at least s.length()+1 long
+	 * @return the smallest i whose state is not dead
+	 */
+	public int scan(CharSequence s, int[] states) {
+		int i = s.length();
+		int state = 0;
+		states[i] = state;
+		while (i > 0) {
+			state = step(state, s.charAt(i - 1));
+			if (state == DEAD)
+				break;
+			states[--i] = state;
+		}
+		for (int j = i - 1; j >= 0; j--) {
+			states[j] = DEAD;
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the number of states.
+	 */
+	public int size() {
+		return size;
+	}
+}
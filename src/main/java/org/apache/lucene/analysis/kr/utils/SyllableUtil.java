@@ -18,7 +18,6 @@ package org.apache.lucene.analysis.kr.utils;
  */
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.lucene.analysis.kr.morph.MorphException;
@@ -76,7 +75,10 @@ public class SyllableUtil {
 	public static int IDX_EOGAN = 39; // 어미 또는 어미의 변형으로 존재할 수 있는 음 (즉 IDX_EOMI
 										// 이거나 IDX_YNPNA 이후에 1이 있는 음절)
 
-	private static List Syllables; // 음절특성 정보
+	/** 음절특성의 수 */
+	public static final int FEATURE_COUNT = 40;
+
+	private static long[] Syllables; // 음절특성 정보, 음절마다 특성 하나를 비트 하나로 표현한다.
 
 	/**
 	 * 인덱스 값에 해당하는 음절의 특성을 반환한다. 영자 또는 숫자일 경우는 모두 해당이 안되므로 가장 마지막 글자인 '힣' 의
@@ -84,18 +86,18 @@ public class SyllableUtil {
 	 * 
 	 * @param idx
 	 *            '가'(0xAC00)이 0부터 유니코드에 의해 한글음절을 순차적으로 나열한 값
-	 * @return
-	 * @throws Exception
+	 * @return IDX_* 번째 비트가 해당 특성을 나타내는 값
+	 * @throws MorphException
 	 */
-	public static char[] getFeature(int idx) throws MorphException {
+	public static long featureMask(int idx) throws MorphException {
 
 		if (Syllables == null)
 			Syllables = getSyllableFeature();
 
-		if (idx < 0 || idx >= Syllables.size())
-			return (char[]) Syllables.get(Syllables.size() - 1);
+		if (idx < 0 || idx >= Syllables.length)
+			return Syllables[Syllables.length - 1];
 		else
-			return (char[]) Syllables.get(idx);
+			return Syllables[idx];
 
 	}
 
@@ -104,9 +106,63 @@ public class SyllableUtil {
 	 * 
 	 * @param syl
 	 *            음절 하나
+	 * @return IDX_* 번째 비트가 해당 특성을 나타내는 값
+	 * @throws MorphException
+	 */
+	public static long featureMask(char syl) throws MorphException {
+		return featureMask(syl - 0xAC00);
+	}
+
+	/**
+	 * 음절이 특성을 가지고 있는지 확인한다.
+	 * 
+	 * @param syl
+	 *            음절 하나
+	 * @param idx
+	 *            IDX_* 중 하나
+	 * @return
+	 * @throws MorphException
+	 */
+	public static boolean hasFeature(char syl, int idx) throws MorphException {
+		return hasFeature(featureMask(syl), idx);
+	}
+
+	/**
+	 * {@link #featureMask(char)} 로 얻은 음절특성에 특성이 있는지 확인한다.
+	 * 
+	 * @param mask
+	 *            음절특성
+	 * @param idx
+	 *            IDX_* 중 하나
 	 * @return
-	 * @throws Exception
 	 */
+	public static boolean hasFeature(long mask, int idx) {
+		return (mask & (1L << idx)) != 0;
+	}
+
+	/**
+	 * 인덱스 값에 해당하는 음절의 특성을 '0', '1' 로 이루어진 배열로 반환한다.
+	 * 
+	 * @deprecated 호출할 때마다 배열을 만든다, {@link #featureMask(int)} 를 사용한다.
+	 */
+	@Deprecated
+	public static char[] getFeature(int idx) throws MorphException {
+
+		long mask = featureMask(idx);
+		char[] feature = new char[FEATURE_COUNT];
+		for (int i = 0; i < feature.length; i++) {
+			feature[i] = hasFeature(mask, i) ? '1' : '0';
+		}
+		return feature;
+
+	}
+
+	/**
+	 * 각 음절의 특성을 '0', '1' 로 이루어진 배열로 반환한다.
+	 * 
+	 * @deprecated 호출할 때마다 배열을 만든다, {@link #featureMask(char)} 를 사용한다.
+	 */
+	@Deprecated
 	public static char[] getFeature(char syl) throws MorphException {
 
 		int idx = syl - 0xAC00;
@@ -115,29 +171,58 @@ public class SyllableUtil {
 	}
 
 	/**
-	 * 음절정보특성을 파일에서 읽는다.
+	 * 음절정보특성을 바이너리 사전이나 파일에서 읽는다.
 	 * 
 	 * @return
-	 * @throws Exception
+	 * @throws MorphException
 	 */
-	private static List getSyllableFeature() throws MorphException {
+	private static synchronized long[] getSyllableFeature() throws MorphException {
 
-		try {
-			Syllables = new ArrayList<char[]>();
+		if (Syllables != null)
+			return Syllables;
 
+		BinaryDictionary image = BinaryDictionary.getInstance();
+		Syllables = image != null ? image.getSyllables() : readSyllableMasks();
+		return Syllables;
+
+	}
+
+	/**
+	 * 음절정보특성을 파일에서 읽어서 음절마다 특성 하나를 비트 하나로 표현한다.
+	 * 
+	 * @return
+	 * @throws MorphException
+	 */
+	static long[] readSyllableMasks() throws MorphException {
+
+		List<String> lines = readLines();
+		long[] masks = new long[lines.size()];
+
+		for (int i = 0; i < masks.length; i++) {
+			String line = lines.get(i);
+			for (int j = 0; j < line.length() && j < 64; j++) {
+				char c = line.charAt(j);
+				if (c == '1')
+					masks[i] |= 1L << j;
+				else if (c != '0')
+					break;
+			}
+		}
+
+		return masks;
+	}
+
+	private static List<String> readLines() throws MorphException {
+
+		try {
 			List<String> line = FileUtil.readLines(KoreanEnv.getInstance()
 					.getValue(KoreanEnv.FILE_SYLLABLE_FEATURE), KoreanEnv
 					.getInstance().getValue(KoreanEnv.ENCODING));
-			for (int i = 0; i < line.size(); i++) {
-				if (i != 0)
-					Syllables.add(line.get(i).toCharArray());
-			}
+			return line.subList(1, line.size());
 		} catch (IOException e) {
 			throw new MorphException(e.getMessage());
 		}
 
-		return Syllables;
-
 	}
 
 	public static boolean isAlpanumeric(char ch) {
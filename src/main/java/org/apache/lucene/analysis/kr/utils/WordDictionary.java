@@ -0,0 +1,422 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import org.apache.lucene.analysis.kr.morph.CompoundEntry;
+import org.apache.lucene.analysis.kr.morph.MorphException;
+import org.apache.lucene.analysis.kr.morph.WordEntry;
+import org.apache.lucene.store.DataInput;
+import org.apache.lucene.store.DataOutput;
+import org.apache.lucene.util.IntsRef;
+import org.apache.lucene.util.fst.Builder;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.IntsRefFSTEnum;
+import org.apache.lucene.util.fst.PositiveIntOutputs;
+import org.apache.lucene.util.fst.Util;
+
+/**
+ * The main word dictionary, stored as a Lucene {@link FST}.
+ * <p>
+ *
+ * Every surface form is mapped to the index of its feature row. Words share
+ * the same feature row whenever their features are identical, so there are
+ * only a few hundred distinct rows for the whole dictionary and the FST
+ * outputs stay small. The few compound noun entries keep their component
+ * list in a side table.
+ * <p>
+ *
+ * Keys are case insensitive, the same way the {@link Trie} that was used
+ * before treated them: they are lower-cased on insertion and lookup.
+ * <p>
+ *
+ * Instances are immutable once built and can be shared between threads.
+ */
+public class WordDictionary {
+
+	private final FST<Long> fst;
+
+	/**
+	 * 단어특성, FST 의 출력값이 이 배열의 인덱스이다.
+	 */
+	private final long[] features;
+
+	/**
+	 * 복합명사의 구성 단어
+	 */
+	private final Map<String, List<CompoundEntry>> compounds;
+
+	/**
+	 * 탐색할 때 사용하는 arc 와 reader, 쓰레드마다 하나씩 두고 재사용한다.
+	 */
+	private final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+		@Override
+		protected Scratch initialValue() {
+			return new Scratch(fst.getBytesReader());
+		}
+	};
+
+	public WordDictionary(FST<Long> fst, long[] features,
+			Map<String, List<CompoundEntry>> compounds) {
+		this.fst = fst;
+		this.features = features;
+		this.compounds = compounds;
+	}
+
+	/**
+	 * Builds the dictionary from the given entries. When two entries share
+	 * the same word, the one that comes last wins.
+	 */
+	public static WordDictionary build(Collection<WordEntry> entries)
+			throws MorphException {
+
+		TreeMap<String, WordEntry> sorted = new TreeMap<String, WordEntry>();
+		for (WordEntry entry : entries) {
+			sorted.put(canonicalCase(entry.getWord()), entry);
+		}
+
+		Map<Long, Integer> rows = new HashMap<Long, Integer>();
+		List<Long> features = new ArrayList<Long>();
+		Map<String, List<CompoundEntry>> compounds = new HashMap<String, List<CompoundEntry>>();
+
+		PositiveIntOutputs outputs = PositiveIntOutputs.getSingleton(true);
+		Builder<Long> builder = new Builder<Long>(FST.INPUT_TYPE.BYTE2, outputs);
+		IntsRef scratch = new IntsRef();
+
+		try {
+			for (Map.Entry<String, WordEntry> e : sorted.entrySet()) {
+				WordEntry entry = e.getValue();
+				Long feature = Long.valueOf(entry.getFeatureBits());
+
+				Integer row = rows.get(feature);
+				if (row == null) {
+					row = Integer.valueOf(features.size());
+					rows.put(feature, row);
+					features.add(feature);
+				}
+
+				if (entry.getCompounds().size() > 0) {
+					compounds.put(e.getKey(), entry.getCompounds());
+				}
+
+				builder.add(Util.toUTF16(e.getKey(), scratch),
+						Long.valueOf(row.longValue()));
+			}
+
+			FST<Long> fst = builder.finish();
+
+			long[] rowArray = new long[features.size()];
+			for (int i = 0; i < rowArray.length; i++) {
+				rowArray[i] = features.get(i).longValue();
+			}
+
+			return new WordDictionary(fst, rowArray, compounds);
+		} catch (IOException e) {
+			throw new MorphException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Reads a dictionary written by {@link #save(DataOutput)}.
+	 */
+	public static WordDictionary read(DataInput in) throws IOException {
+
+		long[] features = new long[in.readVInt()];
+		for (int i = 0; i < features.length; i++) {
+			features[i] = in.readLong();
+		}
+
+		int size = in.readVInt();
+		Map<String, List<CompoundEntry>> compounds = new HashMap<String, List<CompoundEntry>>(size);
+		for (int i = 0; i < size; i++) {
+			String word = in.readString();
+			compounds.put(word, readCompounds(in));
+		}
+
+		FST<Long> fst = new FST<Long>(in, PositiveIntOutputs.getSingleton(true));
+
+		return new WordDictionary(fst, features, compounds);
+	}
+
+	/**
+	 * Writes the feature rows, the compound nouns and the FST.
+	 */
+	public void save(DataOutput out) throws IOException {
+
+		out.writeVInt(features.length);
+		for (long row : features) {
+			out.writeLong(row);
+		}
+
+		out.writeVInt(compounds.size());
+		for (Map.Entry<String, List<CompoundEntry>> e : compounds.entrySet()) {
+			out.writeString(e.getKey());
+			writeCompounds(out, e.getValue());
+		}
+
+		fst.save(out);
+	}
+
+	static void writeCompounds(DataOutput out, List<CompoundEntry> list)
+			throws IOException {
+		out.writeVInt(list.size());
+		for (CompoundEntry ce : list) {
+			out.writeString(ce.getWord());
+			out.writeInt(ce.getOffset());
+		}
+	}
+
+	static List<CompoundEntry> readCompounds(DataInput in) throws IOException {
+		int size = in.readVInt();
+		List<CompoundEntry> list = new ArrayList<CompoundEntry>(size);
+		for (int i = 0; i < size; i++) {
+			CompoundEntry ce = new CompoundEntry(in.readString());
+			ce.setOffset(in.readInt());
+			list.add(ce);
+		}
+		return list;
+	}
+
+	/**
+	 * Returns the entry of the given word, or null if it is not in the
+	 * dictionary.
+	 */
+	public WordEntry get(String key) throws MorphException {
+
+		Scratch s = scratch.get();
+		FST.Arc<Long> arc = fst.getFirstArc(s.arc);
+		FST.BytesReader in = s.in;
+		long output = 0;
+
+		try {
+			for (int i = 0; i < key.length(); i++) {
+				if (fst.findTargetArc(canonicalCase(key.charAt(i)), arc, arc, in) == null)
+					return null;
+				output += arc.output.longValue();
+			}
+		} catch (IOException e) {
+			throw new MorphException(e.getMessage(), e);
+		}
+
+		if (!arc.isFinal())
+			return null;
+		output += arc.nextFinalOutput.longValue();
+
+		return newEntry(canonicalCase(key), (int) output);
+	}
+
+	/**
+	 * Returns the entries of all the words that start at <code>off</code> in
+	 * the buffer, shortest first, in a single walk of the FST. The length of
+	 * the word of an entry is the number of chars it matched.
+	 */
+	public List<WordEntry> commonPrefixSearch(char[] buf, int off, int len)
+			throws MorphException {
+
+		List<WordEntry> words = new ArrayList<WordEntry>();
+
+		Scratch s = scratch.get();
+		FST.Arc<Long> arc = fst.getFirstArc(s.arc);
+		FST.BytesReader in = s.in;
+		long output = 0;
+
+		try {
+			for (int i = 0; i < len; i++) {
+				if (fst.findTargetArc(canonicalCase(buf[off + i]), arc, arc, in) == null)
+					break;
+				output += arc.output.longValue();
+				if (arc.isFinal()) {
+					char[] chars = new char[i + 1];
+					for (int j = 0; j < chars.length; j++) {
+						chars[j] = (char) canonicalCase(buf[off + j]);
+					}
+					words.add(newEntry(new String(chars),
+							(int) (output + arc.nextFinalOutput.longValue())));
+				}
+			}
+		} catch (IOException e) {
+			throw new MorphException(e.getMessage(), e);
+		}
+
+		return words;
+	}
+
+	/**
+	 * Returns true if some word starts with the given chars of the buffer.
+	 * Unlike {@link #getPrefixedBy(String)} nothing is allocated.
+	 */
+	public boolean hasPrefix(char[] buf, int off, int len) throws MorphException {
+
+		Scratch s = scratch.get();
+		FST.Arc<Long> arc = fst.getFirstArc(s.arc);
+
+		try {
+			for (int i = 0; i < len; i++) {
+				if (fst.findTargetArc(canonicalCase(buf[off + i]), arc, arc, s.in) == null)
+					return false;
+			}
+		} catch (IOException e) {
+			throw new MorphException(e.getMessage(), e);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns true if some word starts with the given chars of the text.
+	 * Unlike {@link #getPrefixedBy(String)} nothing is allocated.
+	 */
+	public boolean hasPrefix(CharSequence text, int off, int len)
+			throws MorphException {
+
+		Scratch s = scratch.get();
+		FST.Arc<Long> arc = fst.getFirstArc(s.arc);
+
+		try {
+			for (int i = 0; i < len; i++) {
+				if (fst.findTargetArc(canonicalCase(text.charAt(off + i)), arc, arc, s.in) == null)
+					return false;
+			}
+		} catch (IOException e) {
+			throw new MorphException(e.getMessage(), e);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns an iterator of the entries whose word starts with the given
+	 * prefix, in the order of the words.
+	 */
+	public Iterator<WordEntry> getPrefixedBy(String prefix) throws MorphException {
+		return new PrefixIterator(canonicalCase(prefix));
+	}
+
+	/**
+	 * Returns the number of bytes used by the FST.
+	 */
+	public long sizeInBytes() {
+		return fst.sizeInBytes();
+	}
+
+	private WordEntry newEntry(String word, int row) {
+		WordEntry entry = new WordEntry(word, features[row]);
+		List<CompoundEntry> list = compounds.get(word);
+		if (list != null)
+			entry.setCompounds(list);
+		return entry;
+	}
+
+	private static String canonicalCase(String s) {
+		return s.toUpperCase(Locale.US).toLowerCase(Locale.US);
+	}
+
+	private static int canonicalCase(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/**
+	 * Walks the words starting with a prefix in order. The next word is read
+	 * ahead so that hasNext() does not have to touch the FST.
+	 */
+	private class PrefixIterator implements Iterator<WordEntry> {
+
+		private final IntsRefFSTEnum<Long> fstEnum;
+
+		private final String prefix;
+
+		private IntsRefFSTEnum.InputOutput<Long> current;
+
+		PrefixIterator(String prefix) throws MorphException {
+			this.prefix = prefix;
+			this.fstEnum = new IntsRefFSTEnum<Long>(fst);
+			try {
+				current = fstEnum.seekCeil(Util.toUTF16(prefix, new IntsRef()));
+			} catch (IOException e) {
+				throw new MorphException(e.getMessage(), e);
+			}
+			skipIfOutside();
+		}
+
+		public boolean hasNext() {
+			return current != null;
+		}
+
+		public WordEntry next() {
+			if (current == null)
+				throw new NoSuchElementException();
+
+			IntsRef input = current.input;
+			char[] chars = new char[input.length];
+			for (int i = 0; i < input.length; i++) {
+				chars[i] = (char) input.ints[input.offset + i];
+			}
+			WordEntry entry = newEntry(new String(chars),
+					current.output.intValue());
+
+			try {
+				current = fstEnum.next();
+			} catch (IOException e) {
+				throw new UnhandledException(e);
+			}
+			skipIfOutside();
+
+			return entry;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private void skipIfOutside() {
+			if (current == null)
+				return;
+			IntsRef input = current.input;
+			if (input.length < prefix.length()) {
+				current = null;
+				return;
+			}
+			for (int i = 0; i < prefix.length(); i++) {
+				if (input.ints[input.offset + i] != prefix.charAt(i)) {
+					current = null;
+					return;
+				}
+			}
+		}
+	}
+
+	private static class Scratch {
+
+		final FST.Arc<Long> arc = new FST.Arc<Long>();
+
+		final FST.BytesReader in;
+
+		Scratch(FST.BytesReader in) {
+			this.in = in;
+		}
+	}
+}
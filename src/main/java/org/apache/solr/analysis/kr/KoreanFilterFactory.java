@@ -5,6 +5,7 @@ import java.util.Map;
 import org.apache.lucene.analysis.TokenStream;
 
 
+import org.apache.lucene.analysis.kr.KoreanEngine;
 import org.apache.lucene.analysis.kr.KoreanFilter;
 import org.apache.lucene.analysis.util.TokenFilterFactory;
 
@@ -18,16 +19,21 @@ public class KoreanFilterFactory extends TokenFilterFactory {
 	
 	private boolean exactMatch = false;
 	
+	private KoreanEngine engine;
+	
 	public void init(Map<String, String> args) {
 	    super.init(args);
 	    bigrammable = getBoolean("bigrammable", true);
 	    hasOrigin = getBoolean("hasOrigin", true);
 	    exactMatch = getBoolean("exactMatch", false);
 	    hasCNoun = getBoolean("hasCNoun", true);
+	    String type = args.get("engine");
+	    engine = KoreanEngine.getInstance(type == null ? KoreanEngine.RULE : type, false,
+	    		getBoolean("dynamicCompound", false));
 	}
 	  
 	public TokenStream create(TokenStream tokenstream) {
-		return new KoreanFilter(tokenstream, bigrammable, hasOrigin, exactMatch, hasCNoun);
+		return new KoreanFilter(tokenstream, engine, bigrammable, hasOrigin, exactMatch, hasCNoun);
 	}
 
 	public void setBigrammable(boolean bool) {
@@ -1,6 +1,7 @@
 package org.apache.solr.analysis.kr;
 
 import java.io.Reader;
+import java.util.Map;
 
 
 import org.apache.lucene.analysis.Tokenizer;
@@ -12,6 +13,12 @@ public class KoreanTokenizerFactory extends TokenizerFactory {
 
 	private Version version;
 	
+	private boolean fastScanner = false;
+	
+	private int bufferSize = KoreanTokenizer.DEFAULT_BUFFER_SIZE;
+	
+	private int maxBufferSize = KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE;
+	
 	public KoreanTokenizerFactory() {
 		version = Version.LUCENE_42;
 	}
@@ -20,8 +27,18 @@ public class KoreanTokenizerFactory extends TokenizerFactory {
 		version = v;
 	}
 	
+	public void init(Map<String, String> args) {
+	    super.init(args);
+	    fastScanner = getBoolean("fastScanner", false);
+	    bufferSize = getInt("bufferSize", KoreanTokenizer.DEFAULT_BUFFER_SIZE);
+	    maxBufferSize = getInt("maxBufferSize", Math.max(bufferSize, KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE));
+	}
+	
 	public Tokenizer create(Reader input) {
-		return new KoreanTokenizer(version, input);
+		KoreanTokenizer tokenizer = new KoreanTokenizer(version, input, fastScanner);
+		if (bufferSize != KoreanTokenizer.DEFAULT_BUFFER_SIZE || maxBufferSize != KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE)
+			tokenizer.setBufferSize(bufferSize, maxBufferSize);
+		return tokenizer;
 	}
 
 }
@@ -12,6 +12,7 @@ public class KoreanAnalysisBinderProcessor extends AnalysisModule.AnalysisBinder
     @Override
     public void processTokenizers(TokenizersBindings tokenizersBindings) {
             tokenizersBindings.processTokenizer("kr_tokenizer", KoreanTokenizerFactory.class);
+            tokenizersBindings.processTokenizer("kr_morph_tokenizer", KoreanMorphTokenizerFactory.class);
         }   
 
     @Override
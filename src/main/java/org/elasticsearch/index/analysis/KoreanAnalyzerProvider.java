@@ -2,12 +2,16 @@ package org.elasticsearch.index.analysis;
  
 import java.io.IOException;
 import org.apache.lucene.analysis.kr.KoreanAnalyzer;
+import org.apache.lucene.analysis.kr.KoreanEngine;
+import org.apache.lucene.analysis.kr.KoreanTokenizer;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.inject.assistedinject.Assisted;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.index.settings.IndexSettings;
+import org.elasticsearch.plugin.analysis.kr.KoreanReadAheadExecutor;
 
 public class KoreanAnalyzerProvider extends AbstractIndexAnalyzerProvider<KoreanAnalyzer> {
 
@@ -16,7 +20,23 @@ public class KoreanAnalyzerProvider extends AbstractIndexAnalyzerProvider<Korean
     @Inject
     public KoreanAnalyzerProvider(Index index, @IndexSettings Settings indexSettings, Environment env, @Assisted String name, @Assisted Settings settings) throws IOException {
             super(index, indexSettings, name, settings);
-            analyzer = new KoreanAnalyzer(version);
+            analyzer = new KoreanAnalyzer(version, Analysis.parseStopWords(env, settings, KoreanAnalyzer.STOP_WORDS_SET, version));
+            analyzer.setBigrammable(settings.getAsBoolean("bigrammable", true));
+            analyzer.setHasOrigin(settings.getAsBoolean("has_origin", true));
+            analyzer.setExactMatch(settings.getAsBoolean("exact_match", false));
+            analyzer.setOriginCNoun(settings.getAsBoolean("origin_cnoun", true));
+            analyzer.setMaxTokenLength(settings.getAsInt("max_token_length", KoreanAnalyzer.DEFAULT_MAX_TOKEN_LENGTH));
+            analyzer.setEngine(settings.get("engine", KoreanEngine.RULE));
+            analyzer.setDynamicCompound(settings.getAsBoolean("dynamic_compound", false));
+            analyzer.setCacheEnabled(settings.getAsBoolean("cache", true));
+            int readAhead = KoreanReadAheadExecutor.window(settings);
+            if (readAhead > 1) analyzer.setReadAhead(KoreanReadAheadExecutor.get(indexSettings), readAhead);
+            TimeValue budget = settings.getAsTime("analysis_budget", null);
+            if (budget != null) analyzer.setAnalysisBudget(budget.nanos());
+            analyzer.setFastScanner(settings.getAsBoolean("fast_scanner", false));
+            analyzer.setSinglePass(settings.getAsBoolean("single_pass", false));
+            int bufferSize = settings.getAsInt("buffer_size", KoreanTokenizer.DEFAULT_BUFFER_SIZE);
+            analyzer.setBufferSize(bufferSize, settings.getAsInt("max_buffer_size", Math.max(bufferSize, KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE)));
         }       
 
     @Override
@@ -1,26 +1,52 @@
 package org.elasticsearch.index.analysis;
  
+import java.util.concurrent.Executor;
+
 import org.apache.lucene.analysis.TokenStream; 
+import org.apache.lucene.analysis.kr.KoreanEngine;
 import org.apache.lucene.analysis.kr.KoreanFilter; 
 
 import org.elasticsearch.common.inject.Inject; 
 import org.elasticsearch.common.inject.assistedinject.Assisted; 
 import org.elasticsearch.common.settings.Settings; 
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.Index; 
 import org.elasticsearch.index.settings.IndexSettings; 
+import org.elasticsearch.plugin.analysis.kr.KoreanReadAheadExecutor;
  
 public class KoreanFilterFactory extends AbstractTokenFilterFactory { 
 
   @Inject    
     public KoreanFilterFactory(Index index, @IndexSettings Settings indexSettings, @Assisted String name, @Assisted Settings settings) {
       super(index,indexSettings,name,settings);
+      bigrammable = settings.getAsBoolean("bigrammable", true);
+      hasOrigin = settings.getAsBoolean("has_origin", true);
+      exactMatch = settings.getAsBoolean("exact_match", false);
+      originCNoun = settings.getAsBoolean("origin_cnoun", true);
+      cacheEnabled = settings.getAsBoolean("cache", true);
+      engine = KoreanEngine.getInstance(settings.get("engine", KoreanEngine.RULE), cacheEnabled,
+          settings.getAsBoolean("dynamic_compound", false));
+      readAheadWindow = KoreanReadAheadExecutor.window(settings);
+      if (readAheadWindow > 1) readAheadExecutor = KoreanReadAheadExecutor.get(indexSettings);
+      TimeValue budget = settings.getAsTime("analysis_budget", null);
+      if (budget != null) analysisBudget = budget.nanos();
     }
 
   private boolean bigrammable = true;
   private boolean hasOrigin = true;
+  private boolean exactMatch = false;
+  private boolean originCNoun = true;
+  private boolean cacheEnabled = true;
+  private KoreanEngine engine;
+  private Executor readAheadExecutor;
+  private int readAheadWindow;
+  private long analysisBudget;
 
   public TokenStream create(TokenStream tokenstream) { 
-    return new KoreanFilter(tokenstream, bigrammable, hasOrigin); 
+    KoreanFilter filter = new KoreanFilter(tokenstream, engine, bigrammable, hasOrigin, exactMatch, originCNoun);
+    filter.setReadAhead(readAheadExecutor, readAheadWindow);
+    filter.setAnalysisBudget(analysisBudget);
+    return filter; 
   }   
 
   public void setBigrammable(boolean bool) { 
@@ -31,4 +57,12 @@ public class KoreanFilterFactory extends AbstractTokenFilterFactory {
     this.hasOrigin = bool; 
   }   
 
+  public void setExactMatch(boolean bool) { 
+    this.exactMatch = bool; 
+  }   
+
+  public void setOriginCNoun(boolean bool) { 
+    this.originCNoun = bool; 
+  }   
+
 } 
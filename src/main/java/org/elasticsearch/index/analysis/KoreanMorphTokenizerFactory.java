@@ -0,0 +1,56 @@
+package org.elasticsearch.index.analysis;
+
+import java.io.Reader;
+
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.kr.KoreanAnalyzer;
+import org.apache.lucene.analysis.kr.KoreanEngine;
+import org.apache.lucene.analysis.kr.KoreanMorphTokenizer;
+import org.apache.lucene.analysis.kr.KoreanTokenizer;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.inject.assistedinject.Assisted;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.settings.IndexSettings;
+
+/**
+ * kr_tokenizer and kr_filter in one tokenizer.
+ */
+public class KoreanMorphTokenizerFactory extends AbstractTokenizerFactory {
+  private final KoreanEngine engine;
+  private final boolean bigrammable;
+  private final boolean hasOrigin;
+  private final boolean exactMatch;
+  private final boolean originCNoun;
+  private final boolean fastScanner;
+  private final int maxTokenLength;
+  private final int bufferSize;
+  private final int maxBufferSize;
+  private long analysisBudget;
+  @Inject
+  public KoreanMorphTokenizerFactory(Index index, @IndexSettings Settings indexSettings, @Assisted String name, @Assisted Settings settings) {
+    super(index, indexSettings, name, settings);
+    engine = KoreanEngine.getInstance(settings.get("engine", KoreanEngine.RULE), settings.getAsBoolean("cache", true),
+        settings.getAsBoolean("dynamic_compound", false));
+    bigrammable = settings.getAsBoolean("bigrammable", true);
+    hasOrigin = settings.getAsBoolean("has_origin", true);
+    exactMatch = settings.getAsBoolean("exact_match", false);
+    originCNoun = settings.getAsBoolean("origin_cnoun", true);
+    fastScanner = settings.getAsBoolean("fast_scanner", false);
+    maxTokenLength = settings.getAsInt("max_token_length", KoreanAnalyzer.DEFAULT_MAX_TOKEN_LENGTH);
+    bufferSize = settings.getAsInt("buffer_size", KoreanTokenizer.DEFAULT_BUFFER_SIZE);
+    maxBufferSize = settings.getAsInt("max_buffer_size", Math.max(bufferSize, KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE));
+    TimeValue budget = settings.getAsTime("analysis_budget", null);
+    if (budget != null) analysisBudget = budget.nanos();
+  }
+  @Override
+  public Tokenizer create(Reader input) {
+    KoreanMorphTokenizer tokenizer = new KoreanMorphTokenizer(version, input, engine, bigrammable, hasOrigin, exactMatch, originCNoun, fastScanner);
+    tokenizer.setMaxTokenLength(maxTokenLength);
+    if (bufferSize != KoreanTokenizer.DEFAULT_BUFFER_SIZE || maxBufferSize != KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE)
+      tokenizer.setBufferSize(bufferSize, maxBufferSize);
+    tokenizer.setAnalysisBudget(analysisBudget);
+    return tokenizer;
+  }
+}
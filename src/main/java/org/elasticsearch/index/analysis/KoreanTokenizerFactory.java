@@ -3,6 +3,7 @@ package org.elasticsearch.index.analysis;
 import java.io.Reader;
 
 import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.kr.KoreanAnalyzer;
 import org.apache.lucene.analysis.kr.KoreanTokenizer;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.inject.assistedinject.Assisted;
@@ -11,12 +12,24 @@ import org.elasticsearch.index.Index;
 import org.elasticsearch.index.settings.IndexSettings;
 
 public class KoreanTokenizerFactory extends AbstractTokenizerFactory {
+  private final boolean fastScanner;
+  private final int bufferSize;
+  private final int maxBufferSize;
+  private final int maxTokenLength;
   @Inject
   public KoreanTokenizerFactory(Index index, @IndexSettings Settings indexSettings, @Assisted String name, @Assisted Settings settings) {
     super(index, indexSettings, name, settings);
+    fastScanner = settings.getAsBoolean("fast_scanner", false);
+    maxTokenLength = settings.getAsInt("max_token_length", KoreanAnalyzer.DEFAULT_MAX_TOKEN_LENGTH);
+    bufferSize = settings.getAsInt("buffer_size", KoreanTokenizer.DEFAULT_BUFFER_SIZE);
+    maxBufferSize = settings.getAsInt("max_buffer_size", Math.max(bufferSize, KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE));
   }
   @Override
   public Tokenizer create(Reader input) {
-    return new KoreanTokenizer(version, input);
+    KoreanTokenizer tokenizer = new KoreanTokenizer(version, input, fastScanner);
+    tokenizer.setMaxTokenLength(maxTokenLength);
+    if (bufferSize != KoreanTokenizer.DEFAULT_BUFFER_SIZE || maxBufferSize != KoreanTokenizer.DEFAULT_MAX_BUFFER_SIZE)
+      tokenizer.setBufferSize(bufferSize, maxBufferSize);
+    return tokenizer;
   }   
 }
@@ -0,0 +1,105 @@
+package org.elasticsearch.plugin.analysis.kr;
+
+import java.io.File;
+import java.util.concurrent.ScheduledFuture;
+
+import org.apache.lucene.analysis.kr.morph.AnalysisCache;
+import org.apache.lucene.analysis.kr.morph.AnalysisCacheSnapshot;
+import org.apache.lucene.analysis.kr.morph.MorphException;
+import org.elasticsearch.ElasticSearchException;
+import org.elasticsearch.common.component.AbstractLifecycleComponent;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.env.Environment;
+import org.elasticsearch.threadpool.ThreadPool;
+
+/**
+ * Node level settings of the shared morphological analysis caches, one per
+ * analysis engine in use, which all the indices of the node share.
+ * <p>
+ *
+ * cache.size is the number of entries kept per cache. With snapshots
+ * enabled, the caches are preloaded from a snapshot when the node starts,
+ * and at most snapshot.size of the hottest entries of each are saved when
+ * the node stops, and optionally at a fixed interval.
+ *
+ * <pre>
+ * analysis.korean.cache.size: 10000
+ * analysis.korean.cache.snapshot.enabled: true
+ * analysis.korean.cache.snapshot.path: /path/to/korean-analysis-cache.bin
+ * analysis.korean.cache.snapshot.size: 10000
+ * analysis.korean.cache.snapshot.interval: 30m
+ * </pre>
+ */
+public class AnalysisCacheSnapshotService extends AbstractLifecycleComponent<AnalysisCacheSnapshotService> {
+
+    private final ThreadPool threadPool;
+
+    private final boolean enabled;
+
+    private final File file;
+
+    private final int size;
+
+    private final TimeValue interval;
+
+    private volatile ScheduledFuture<?> scheduled;
+
+    @Inject
+    public AnalysisCacheSnapshotService(Settings settings, Environment env, ThreadPool threadPool) {
+            super(settings);
+            this.threadPool = threadPool;
+            Integer cacheSize = settings.getAsInt("analysis.korean.cache.size", null);
+            if (cacheSize != null) AnalysisCache.setSharedMaxSize(cacheSize);
+            this.enabled = settings.getAsBoolean("analysis.korean.cache.snapshot.enabled", false);
+            String path = settings.get("analysis.korean.cache.snapshot.path");
+            this.file = path != null ? new File(path) : new File(env.workFile(), "korean-analysis-cache.bin");
+            this.size = settings.getAsInt("analysis.korean.cache.snapshot.size", AnalysisCache.DEFAULT_SIZE);
+            this.interval = settings.getAsTime("analysis.korean.cache.snapshot.interval", null);
+        }
+
+    @Override
+    protected void doStart() throws ElasticSearchException {
+            if (!enabled) return;
+
+            try {
+                int loaded = AnalysisCacheSnapshot.loadAll(file);
+                logger.debug("loaded {} analyses from {}", loaded, file);
+            } catch (MorphException e) {
+                logger.warn("failed to load analysis cache snapshot from {}", e, file);
+            }
+
+            if (interval != null && interval.millis() > 0) {
+                scheduled = threadPool.scheduleWithFixedDelay(new Runnable() {
+                    public void run() {
+                        save();
+                    }
+                }, interval);
+            }
+        }
+
+    @Override
+    protected void doStop() throws ElasticSearchException {
+            if (!enabled) return;
+
+            if (scheduled != null) {
+                scheduled.cancel(false);
+                scheduled = null;
+            }
+            save();
+        }
+
+    @Override
+    protected void doClose() throws ElasticSearchException {
+        }
+
+    private void save() {
+            try {
+                int saved = AnalysisCacheSnapshot.saveAll(file, size);
+                logger.debug("saved {} analyses to {}", saved, file);
+            } catch (MorphException e) {
+                logger.warn("failed to save analysis cache snapshot to {}", e, file);
+            }
+        }
+}
@@ -1,5 +1,9 @@
 package org.elasticsearch.plugin.analysis.kr;
 
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.elasticsearch.common.component.LifecycleComponent;
 import org.elasticsearch.index.analysis.AnalysisModule;
 import org.elasticsearch.index.analysis.KoreanAnalysisBinderProcessor;
 import org.elasticsearch.plugins.AbstractPlugin;
@@ -19,4 +23,12 @@ public class AnalysisKoreanPlugin extends AbstractPlugin {
     public void onModule(AnalysisModule module) {
             module.addProcessor(new KoreanAnalysisBinderProcessor());
         }   
+
+    @Override
+    @SuppressWarnings("rawtypes") // the signature of Plugin.services()
+    public Collection<Class<? extends LifecycleComponent>> services() {
+            Collection<Class<? extends LifecycleComponent>> services = new ArrayList<Class<? extends LifecycleComponent>>();
+            services.add(AnalysisCacheSnapshotService.class);
+            return services;
+        }
 }
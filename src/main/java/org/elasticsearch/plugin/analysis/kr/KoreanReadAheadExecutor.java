@@ -0,0 +1,69 @@
+package org.elasticsearch.plugin.analysis.kr;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.elasticsearch.ElasticSearchIllegalArgumentException;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
+
+/**
+ * The threads that analyze the eojeols the Korean filters of a node read
+ * ahead, see the read_ahead setting.
+ * <p>
+ * They are kept apart from the thread pools of the node, so that a large
+ * field cannot hold up recoveries or cluster tasks. There are a fixed
+ * number of threads and a bounded queue; when the queue is full the
+ * indexing thread analyzes the eojeol itself, as it does without read
+ * ahead. The node settings are read when the first filter needs the
+ * threads.
+ *
+ * <pre>
+ * analysis.korean.read_ahead.threads: 4
+ * analysis.korean.read_ahead.queue_size: 1000
+ * </pre>
+ */
+public final class KoreanReadAheadExecutor {
+
+    /** The largest read_ahead window accepted */
+    public static final int MAX_WINDOW = 1024;
+
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+    private static ThreadPoolExecutor executor;
+
+    private KoreanReadAheadExecutor() {
+        }
+
+    /**
+     * Returns the read_ahead window of an analyzer or filter, 0 if it is
+     * not set.
+     */
+    public static int window(Settings settings) {
+            int window = settings.getAsInt("read_ahead", 0);
+            if (window < 0 || window > MAX_WINDOW)
+                throw new ElasticSearchIllegalArgumentException("read_ahead must be between 0 and "
+                        + MAX_WINDOW + ", got " + window);
+            return window;
+        }
+
+    /**
+     * Returns the threads of the node, started with the given node
+     * settings if they are not yet.
+     */
+    public static synchronized Executor get(Settings settings) {
+            if (executor == null) {
+                int threads = settings.getAsInt("analysis.korean.read_ahead.threads",
+                        Runtime.getRuntime().availableProcessors());
+                int queueSize = settings.getAsInt("analysis.korean.read_ahead.queue_size", DEFAULT_QUEUE_SIZE);
+                executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<Runnable>(queueSize),
+                        EsExecutors.daemonThreadFactory(settings, "korean_read_ahead"),
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+                executor.allowCoreThreadTimeOut(true);
+            }
+            return executor;
+        }
+}
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
+import org.apache.lucene.util.Version;
+
+/**
+ * Compares {@link KoreanFastTokenizerImpl} with the JFlex scanner it stands
+ * in for.
+ */
+public class KoreanFastTokenizerImplTest extends TestCase {
+
+	/**
+	 * Pieces of text the random strings are made of. They cover what decides
+	 * where the fast scanner cuts a segment: punctuation after Hangul and
+	 * Hanja, numbers in front of Hangul, jamo and other letters the grammar
+	 * knows, and characters no rule matches.
+	 */
+	private static final String[] PIECES = { "한국어", "형태소", "분석기", "했다", "서울",
+			"漢字", "大韓民國", "韓", "abc", "Lucene", "x", "2013", "7", "3.14", "1,000",
+			"10-20", "U.S.A.", "AT&T", "O'Reilly", "foo@bar.com", "www.apache.org",
+			"a_b", "/", ".", ",", "-", "_", "'", "&", "@", "ㄱ", "ㅏㅎ", "가",
+			"é", "Ä", "٣", "ア", "ｱ", "ぁ", " ", " ", "  ", "\t", "\n", "!",
+			"?", "(", ")", "\"", "~", "%", "·", "…" };
+
+	public void testSameTokensAsJFlexScanner() throws IOException {
+
+		Random random = new Random(20130601L);
+		KoreanTokenizer jflex = new KoreanTokenizer(Version.LUCENE_43, new StringReader(""), false);
+		KoreanTokenizer fast = new KoreanTokenizer(Version.LUCENE_43, new StringReader(""), true);
+
+		for (int i = 0; i < 20000; i++) {
+			String text = randomText(random);
+			int chunk = 1 + random.nextInt(16);
+			if (i % 100 == 0) {
+				// 버퍼를 다시 채우는 경계에서도 같아야 한다.
+				int size = 1 + random.nextInt(32);
+				jflex.setBufferSize(size, 1024);
+				fast.setBufferSize(size, 1024);
+			}
+			assertEquals(text, tokens(jflex, new ChunkedReader(text, chunk)),
+					tokens(fast, new ChunkedReader(text, chunk)));
+		}
+	}
+
+	private static String randomText(Random random) {
+		StringBuilder sb = new StringBuilder();
+		int n = random.nextInt(12);
+		for (int i = 0; i < n; i++) {
+			switch (random.nextInt(8)) {
+			case 0:
+				sb.append((char) (0xAC00 + random.nextInt(0xD7A4 - 0xAC00)));
+				break;
+			case 1:
+				sb.append((char) (0x4E00 + random.nextInt(0x9FFF - 0x4E00)));
+				break;
+			default:
+				sb.append(PIECES[random.nextInt(PIECES.length)]);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Term, type, offsets and position increment of every token, then the
+	 * final offset.
+	 */
+	static String tokens(KoreanTokenizer tokenizer, Reader reader) throws IOException {
+
+		CharTermAttribute term = tokenizer.addAttribute(CharTermAttribute.class);
+		TypeAttribute type = tokenizer.addAttribute(TypeAttribute.class);
+		OffsetAttribute offset = tokenizer.addAttribute(OffsetAttribute.class);
+		PositionIncrementAttribute posIncr = tokenizer.addAttribute(PositionIncrementAttribute.class);
+
+		StringBuilder sb = new StringBuilder();
+		tokenizer.setReader(reader);
+		tokenizer.reset();
+		while (tokenizer.incrementToken()) {
+			sb.append(term).append('/').append(type.type()).append('/')
+					.append(offset.startOffset()).append('-').append(offset.endOffset())
+					.append('/').append(posIncr.getPositionIncrement()).append(' ');
+		}
+		tokenizer.end();
+		sb.append("end=").append(offset.endOffset());
+		tokenizer.close();
+		return sb.toString();
+	}
+
+	/**
+	 * Gives out at most chunk chars per read, as a network stream may.
+	 */
+	static class ChunkedReader extends Reader {
+
+		private final String text;
+
+		private final int chunk;
+
+		private int pos;
+
+		ChunkedReader(String text, int chunk) {
+			this.text = text;
+			this.chunk = chunk;
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) {
+			if (pos == text.length())
+				return -1;
+			int n = Math.min(Math.min(len, chunk), text.length() - pos);
+			text.getChars(pos, pos + n, cbuf, off);
+			pos += n;
+			return n;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import junit.framework.TestCase;
+
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.util.Version;
+
+/**
+ * {@link KoreanMorphTokenizer} must give what {@link KoreanTokenizer}
+ * followed by {@link KoreanFilter} gives.
+ */
+public class KoreanMorphTokenizerTest extends TestCase {
+
+	private static final String SAMPLE = "대한민국은 민주공화국이다. 대한민국의 주권은 국민에게 있고, 모든 권력은 국민으로부터 나온다.\n"
+			+ "형태소분석기를 이용하여 한국어 검색엔진을 개발하였습니다. 루씬한글형태소분석기는 오픈소스입니다.\n"
+			+ "나는 어제 학교에서 친구들과 함께 점심을 먹고 도서관에 가서 책을 읽었다.\n"
+			+ "정부는 경제활성화를 위해 규제개혁특별위원회를 설치하기로 결정했다고 밝혔다.\n"
+			+ "金融監督院은 銀行의 貸出金利를 調査하였다. 大韓民國 憲法 第一條\n"
+			+ "Elasticsearch 0.90.1 버전에서 kr_analyzer를 사용합니다. test@example.com www.naver.com U.S.A. John's\n"
+			+ "아버지가방에들어가신다 오늘날씨가정말좋습니다 하하하하하하하 ㅋㅋㅋㅋㅋ\n"
+			+ "정보통신기술진흥원장 국가인권위원회위원장 한국과학기술원 산업통상자원부장관 자동차보험료인상";
+
+	public void testSameTokensForEveryFlagCombination() throws IOException {
+
+		String[] engines = { KoreanEngine.RULE, KoreanEngine.LATTICE };
+		for (String type : engines) {
+			KoreanEngine engine = KoreanEngine.getInstance(type, false);
+			for (int flags = 0; flags < 32; flags++) {
+				boolean bigram = (flags & 1) != 0;
+				boolean has = (flags & 2) != 0;
+				boolean match = (flags & 4) != 0;
+				boolean cnoun = (flags & 8) != 0;
+				boolean fast = (flags & 16) != 0;
+
+				KoreanTokenizer tokenizer = new KoreanTokenizer(Version.LUCENE_43,
+						new StringReader(SAMPLE), fast);
+				TokenStream chain = new KoreanFilter(tokenizer, engine, bigram, has, match, cnoun);
+				KoreanMorphTokenizer single = new KoreanMorphTokenizer(Version.LUCENE_43,
+						new StringReader(SAMPLE), engine, bigram, has, match, cnoun, fast);
+
+				assertEquals(type + " flags=" + flags, tokens(chain), tokens(single));
+			}
+		}
+	}
+
+	/**
+	 * Tokens longer than maxTokenLength are skipped by both, and still take
+	 * a position as they do in KoreanTokenizer.
+	 */
+	public void testSkippedLongTokens() throws IOException {
+
+		String text = "규제개혁특별위원회를 학교에서 국가인권위원회위원장 정보통신기술진흥원장 책을 "
+				+ "abcdefghijklmnop 0123456789012 읽었다";
+		KoreanEngine engine = KoreanEngine.getInstance(false);
+
+		KoreanTokenizer tokenizer = new KoreanTokenizer(Version.LUCENE_43, new StringReader(text));
+		tokenizer.setMaxTokenLength(8);
+		TokenStream chain = new KoreanFilter(tokenizer, engine, true, true, false, true);
+		KoreanMorphTokenizer single = new KoreanMorphTokenizer(Version.LUCENE_43,
+				new StringReader(text), engine, true, true, false, true);
+		single.setMaxTokenLength(8);
+
+		String expected = tokens(chain);
+		assertTrue(expected, expected.startsWith("학교에서/11-15/2 "));
+		assertTrue(expected, expected.contains(" 책을/38-40/3 "));
+		assertEquals(expected, tokens(single));
+	}
+
+	/**
+	 * Term, offsets and position increment of every token, then the final
+	 * offset.
+	 */
+	private static String tokens(TokenStream stream) throws IOException {
+
+		CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+		OffsetAttribute offset = stream.addAttribute(OffsetAttribute.class);
+		PositionIncrementAttribute posIncr = stream.addAttribute(PositionIncrementAttribute.class);
+
+		StringBuilder sb = new StringBuilder();
+		stream.reset();
+		while (stream.incrementToken()) {
+			sb.append(term).append('/').append(offset.startOffset()).append('-')
+					.append(offset.endOffset()).append('/')
+					.append(posIncr.getPositionIncrement()).append(' ');
+		}
+		stream.end();
+		sb.append("end=").append(offset.endOffset());
+		stream.close();
+		return sb.toString();
+	}
+}
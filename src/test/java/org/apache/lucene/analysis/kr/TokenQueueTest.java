@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class TokenQueueTest extends TestCase {
+
+	/**
+	 * Putting a key again keeps its place but takes the new word and offset.
+	 */
+	public void testPutKeepsFirstPlaceTakesLastValue() {
+
+		TokenQueue queue = new TokenQueue();
+		queue.put("학교", 0);
+		queue.put("학교에서", 0);
+		queue.put("에서", 2);
+		queue.put("학교", 5);
+
+		assertEquals("학교/5 학교에서/0 에서/2", drain(queue));
+	}
+
+	/**
+	 * The word is the first wordLength chars of its key, the key alone
+	 * decides what is a duplicate.
+	 */
+	public void testWordIsPrefixOfKey() {
+
+		TokenQueue queue = new TokenQueue();
+		queue.put("학교에서", 0, 4, 2, 0);
+		queue.put("학교", 0, 2, 2, 0);
+		queue.put("x학교에서", 1, 4, 4, 3);
+
+		assertEquals("학교에서/3 학교/0", drain(queue));
+	}
+
+	public void testAddDoesNotDeduplicate() {
+
+		TokenQueue queue = new TokenQueue();
+		queue.add("학교", 0);
+		queue.put("학교", 1);
+		queue.add("학교", 2);
+		queue.put("학교", 3);
+
+		assertEquals("학교/0 학교/3 학교/2", drain(queue));
+	}
+
+	public void testRemoveShortKeys() {
+
+		TokenQueue queue = new TokenQueue();
+		queue.put("가", 0);
+		queue.put("가나", 0);
+		queue.put("다", 2);
+		queue.put("가나다", 0);
+		queue.removeShortKeys(2);
+
+		assertEquals("가나/0 가나다/0", drain(queue));
+	}
+
+	public void testClearForgetsKeys() {
+
+		TokenQueue queue = new TokenQueue();
+		queue.put("학교", 0);
+		queue.put("에서", 2);
+		assertEquals("학교/0", drain(queue, 1));
+		queue.clear();
+		assertTrue(queue.isEmpty());
+
+		queue.put("에서", 7);
+		queue.put("학교", 9);
+		assertEquals("에서/7 학교/9", drain(queue));
+	}
+
+	public void testEntryRoundTrip() {
+
+		TokenQueue queue = new TokenQueue();
+		queue.put("학교에서", 0);
+		queue.put("학교", 0);
+		queue.add("에서", 2);
+		queue.next();
+
+		TokenQueue copy = new TokenQueue();
+		copy.addAll(queue.toEntry());
+		assertEquals("학교/0 에서/2", drain(copy));
+	}
+
+	/**
+	 * Many keys, so that the arrays grow and the table is rehashed, in the
+	 * order and with the values of a LinkedHashMap.
+	 */
+	public void testSameAsLinkedHashMap() {
+
+		Random random = new Random(42);
+		TokenQueue queue = new TokenQueue();
+		for (int round = 0; round < 50; round++) {
+			queue.clear();
+			Map<String, Integer> expected = new LinkedHashMap<String, Integer>();
+			int n = random.nextInt(200);
+			for (int i = 0; i < n; i++) {
+				StringBuilder sb = new StringBuilder();
+				int len = 1 + random.nextInt(3);
+				for (int j = 0; j < len; j++) {
+					sb.append((char) ('가' + random.nextInt(4)));
+				}
+				String key = sb.toString();
+				int offset = random.nextInt(100);
+				queue.put(key, offset);
+				expected.put(key, offset);
+			}
+
+			List<String> words = new ArrayList<String>();
+			for (Map.Entry<String, Integer> e : expected.entrySet()) {
+				words.add(e.getKey() + "/" + e.getValue());
+			}
+			assertEquals(join(words), drain(queue));
+		}
+	}
+
+	private static String drain(TokenQueue queue) {
+		return drain(queue, Integer.MAX_VALUE);
+	}
+
+	private static String drain(TokenQueue queue, int max) {
+		List<String> words = new ArrayList<String>();
+		while (!queue.isEmpty() && words.size() < max) {
+			int i = queue.next();
+			words.add(new String(queue.chars(), queue.start(i), queue.length(i))
+					+ "/" + queue.offset(i));
+		}
+		return join(words);
+	}
+
+	private static String join(List<String> words) {
+		StringBuilder sb = new StringBuilder();
+		for (String word : words) {
+			if (sb.length() > 0)
+				sb.append(' ');
+			sb.append(word);
+		}
+		return sb.toString();
+	}
+}
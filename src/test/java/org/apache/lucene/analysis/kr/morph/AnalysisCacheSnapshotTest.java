@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr.morph;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class AnalysisCacheSnapshotTest extends TestCase {
+
+	/**
+	 * The snapshot is loaded when the node starts, before any dictionary is
+	 * read. Reading the dictionary on the first cache miss must keep it.
+	 */
+	public void testSnapshotSurvivesFirstDictionaryLoad() throws Exception {
+
+		File file = File.createTempFile("korean-analysis-cache", ".bin");
+		try {
+			AnalysisCache saved = new AnalysisCache(AnalysisCache.DEFAULT_SIZE);
+			List<AnalysisOutput> outputs = new ArrayList<AnalysisOutput>();
+			outputs.add(new AnalysisOutput("스냅샷", "에", null,
+					PatternConstants.PTN_NJ, AnalysisOutput.SCORE_CORRECT));
+			saved.put("스냅샷에", outputs);
+			assertEquals(1, AnalysisCacheSnapshot.save(saved, file, AnalysisCache.DEFAULT_SIZE));
+
+			AnalysisCache cache = AnalysisCache.getInstance();
+			assertEquals(1, AnalysisCacheSnapshot.load(cache, file));
+
+			MorphAnalyzer morph = new MorphAnalyzer(new CompoundNounAnalyzer(false), cache);
+			assertFalse(morph.analyze("학교에서").isEmpty());
+
+			List<AnalysisOutput> cached = cache.get("스냅샷에");
+			assertNotNull(cached);
+			assertEquals("스냅샷", cached.get(0).getStem());
+			assertNotNull(cache.get("학교에서"));
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * The engines that analyze differently cache apart, their caches have to
+	 * be saved and loaded as well.
+	 */
+	public void testSnapshotKeepsEveryNamedCache() throws Exception {
+
+		File file = File.createTempFile("korean-analysis-cache", ".bin");
+		try {
+			AnalysisCache lattice = AnalysisCache.getInstance("test-lattice");
+			List<AnalysisOutput> outputs = new ArrayList<AnalysisOutput>();
+			outputs.add(new AnalysisOutput("격자", "에", null,
+					PatternConstants.PTN_NJ, AnalysisOutput.SCORE_CORRECT));
+			lattice.put("격자에", outputs);
+			assertTrue(AnalysisCacheSnapshot.saveAll(file, AnalysisCache.DEFAULT_SIZE) >= 1);
+
+			lattice.clear();
+			assertTrue(AnalysisCacheSnapshot.loadAll(file) >= 1);
+
+			assertNotNull(lattice.get("격자에"));
+			assertNull(AnalysisCache.getInstance().get("격자에"));
+		} finally {
+			file.delete();
+		}
+	}
+}
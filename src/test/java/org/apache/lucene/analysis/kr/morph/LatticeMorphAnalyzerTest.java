@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.lucene.analysis.kr.morph;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class LatticeMorphAnalyzerTest extends TestCase {
+
+	private final LatticeMorphAnalyzer analyzer = new LatticeMorphAnalyzer();
+
+	/**
+	 * '가', '보', '서' 는 명사이자 용언 어간이다. 용언 + 어미 경로가 명사 + 조사 경로와
+	 * 비교되어야 한다.
+	 */
+	public void testVerbPathCompetesWithNounPath() throws Exception {
+		assertBest("가는", "가", PatternConstants.POS_VERB);
+		assertBest("보는", "보", PatternConstants.POS_VERB);
+		assertBest("서는", "서", PatternConstants.POS_VERB);
+		assertBest("가니", "가", PatternConstants.POS_VERB);
+	}
+
+	/**
+	 * ㄹ 받침은 ㄴ 앞에서 떨어지고 '을' 의 '으' 는 ㄹ 뒤에서 빠지므로 '말을' 은 명사 + 조사이다.
+	 */
+	public void testEomiMustFitTheStem() throws Exception {
+		assertBest("말을", "말", PatternConstants.POS_NOUN);
+		assertBest("말은", "말", PatternConstants.POS_NOUN);
+	}
+
+	/**
+	 * 비용이 같으면 어간이 긴 경로가 먼저이다.
+	 */
+	public void testLongerStemWinsTies() throws Exception {
+		assertBest("보고", "보고", PatternConstants.POS_NOUN);
+		assertBest("학교는", "학교", PatternConstants.POS_NOUN);
+		assertBest("함께", "함께", PatternConstants.POS_ETC);
+	}
+
+	private void assertBest(String input, String stem, char pos) throws Exception {
+		List<AnalysisOutput> outputs = analyzer.analyze(input, 0);
+		assertEquals(input, 1, outputs.size());
+		assertEquals(input, stem, outputs.get(0).getStem());
+		assertEquals(input, pos, outputs.get(0).getPos());
+	}
+}